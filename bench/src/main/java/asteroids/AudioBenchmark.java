@@ -0,0 +1,52 @@
+package asteroids;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/* Benchmarks mixing a chunk of audio with a parameterised number of looping
+ * voices, rendered into a byte buffer without an audio device. */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AudioBenchmark {
+
+	private static final int FRAMES = 256;
+	private static final int SAMPLE_FRAMES = 44100;
+
+	@State(Scope.Thread)
+	public static class MixerState {
+
+		@Param({"1", "16"})
+		public int voices;
+
+		public AudioMixer mixer;
+		public byte[] buffer;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			Random random = new Random(FieldState.SEED);
+			short[] data = new short[SAMPLE_FRAMES * 2];
+			for (int i = 0; i < data.length; i++) {
+				data[i] = (short)(random.nextInt(8192) - 4096);
+			}
+			mixer = new AudioMixer(1);
+			mixer.setSample(0, new AudioSample(data));
+			for (int i = 0; i < voices; i++) {
+				mixer.trigger(0, true);
+			}
+			buffer = new byte[FRAMES * AudioMixer.FRAME_SIZE];
+		}
+
+	}
+
+	@Benchmark
+	public byte[] render(MixerState state) {
+		state.mixer.render(state.buffer, 0, FRAMES);
+		return state.buffer;
+	}
+
+}
@@ -0,0 +1,80 @@
+package asteroids;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/* Benchmarks the per-entity hot paths: asteroid point tests, the batch
+ * asteroid movement, particle integration and player movement. */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityBenchmark {
+
+	private static final double PERIOD_S = 1.0 / 144;
+
+	@State(Scope.Thread)
+	public static class EntityState extends FieldState {
+
+		public Asteroid[] asteroids;
+		public EntityStore<Asteroid> store;
+		public float[] xPoints, yPoints;
+		public ParticleSystem particles;
+
+		@Setup(Level.Trial)
+		public void setupEntities() {
+			Random random = new Random(SEED);
+			asteroids = new Asteroid[asteroidCount];
+			xPoints = new float[asteroidCount];
+			yPoints = new float[asteroidCount];
+			for (int i = 0; i < asteroidCount; i++) {
+				asteroids[i] = new Asteroid(i, random);
+				xPoints[i] = random.nextFloat() * WIDTH;
+				yPoints[i] = random.nextFloat() * HEIGHT;
+			}
+			store = new EntityStore<>(asteroidCount);
+			for (int i = 0; i < asteroidCount; i++) {
+				store.add(new Asteroid(i, random));
+			}
+			particles = new ParticleSystem(particleCount);
+			int colorIndex = particles.colorIndex(Asteroid.COLOR);
+			for (int i = 0; i < particleCount; i++) {
+				particles.spawn(random.nextFloat() * WIDTH, random.nextFloat() * HEIGHT,
+						random.nextFloat() * 256.0f - 128.0f, random.nextFloat() * 256.0f - 128.0f,
+						Float.MAX_VALUE, colorIndex);
+			}
+		}
+
+	}
+
+	@Benchmark
+	public void asteroidContains(EntityState state, Blackhole bh) {
+		Asteroid[] asteroids = state.asteroids;
+		for (int i = 0; i < asteroids.length; i++) {
+			bh.consume(asteroids[i].contains(state.xPoints[i], state.yPoints[i]));
+		}
+	}
+
+	@Benchmark
+	public void asteroidMove(EntityState state) {
+		state.store.move(PERIOD_S);
+	}
+
+	@Benchmark
+	public void particleUpdate(EntityState state) {
+		state.particles.update(PERIOD_S);
+	}
+
+	@Benchmark
+	public void playerMove(EntityState state) {
+		Player player = state.game.getPlayer();
+		player.turn(PERIOD_S, Player.RIGHT);
+		player.accelerate(PERIOD_S, Player.FORWARD);
+		player.move(PERIOD_S);
+	}
+
+}
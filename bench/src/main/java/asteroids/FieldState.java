@@ -0,0 +1,39 @@
+package asteroids;
+
+import org.openjdk.jmh.annotations.*;
+
+/* FieldState is a headless game populated with a parameterised number of
+ * asteroids, bullets and particles on top of the first level. It is set up
+ * once per trial, so benchmarks using it should not change the field. */
+
+@State(Scope.Thread)
+public class FieldState {
+
+	public static final int WIDTH = 1920;
+	public static final int HEIGHT = 1080;
+	public static final long SEED = 42L;
+
+	@Param({"16", "1024"})
+	public int asteroidCount;
+
+	@Param({"16", "512"})
+	public int bulletCount;
+
+	@Param({"1024", "16384"})
+	public int particleCount;
+
+	public GameLogic game;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		game = new GameLogic(WIDTH, HEIGHT);
+		game.setSeed(SEED);
+		fill();
+	}
+
+	protected void fill() {
+		game.newGame();
+		game.populate(asteroidCount, bulletCount, particleCount);
+	}
+
+}
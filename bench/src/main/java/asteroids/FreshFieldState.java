@@ -0,0 +1,30 @@
+package asteroids;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.openjdk.jmh.annotations.*;
+
+/* FreshFieldState puts the field back before every iteration, for
+ * benchmarks that destroy asteroids or expire bullets. The field is saved
+ * once it has been filled and restored from the saved state. */
+
+@State(Scope.Thread)
+public class FreshFieldState extends FieldState {
+
+	private ByteBuffer saved;
+
+	@Override
+	protected void fill() {
+		super.fill();
+		ByteBuffer state = new SaveState().save(game);
+		saved = ByteBuffer.allocateDirect(state.remaining());
+		saved.put(state);
+		saved.flip();
+	}
+
+	@Setup(Level.Iteration)
+	public void refill() throws IOException {
+		SaveState.load(game, saved.duplicate());
+	}
+
+}
@@ -0,0 +1,46 @@
+package asteroids;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/* Benchmarks offscreen rendering of the whole field into a BufferedImage,
+ * with particles drawn in each of the Renderer's point modes. */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+	@State(Scope.Thread)
+	public static class RenderState extends FieldState {
+
+		@Param({"0", "1", "2"})
+		public int pointMode;
+
+		public BufferedImage image;
+		public Graphics2D g;
+
+		@Setup(Level.Trial)
+		public void setupImage() {
+			game.setPointMode(pointMode);
+			image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+			g = image.createGraphics();
+		}
+
+		@TearDown(Level.Trial)
+		public void disposeImage() {
+			g.dispose();
+		}
+
+	}
+
+	@Benchmark
+	public void buffer(RenderState state) {
+		state.game.buffer(state.g);
+	}
+
+}
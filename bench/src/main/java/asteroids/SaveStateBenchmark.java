@@ -0,0 +1,45 @@
+package asteroids;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/* Benchmarks saving the whole field into a reusable buffer and restoring it
+ * from one. Restoring puts back the same field, so it can be repeated. */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveStateBenchmark {
+
+	@State(Scope.Thread)
+	public static class Saved {
+
+		public SaveState saveState;
+		public ByteBuffer saved;
+
+		@Setup(Level.Trial)
+		public void setup(FieldState field) {
+			saveState = new SaveState();
+			ByteBuffer state = new SaveState().save(field.game);
+			saved = ByteBuffer.allocateDirect(state.remaining());
+			saved.put(state);
+			saved.flip();
+		}
+
+	}
+
+	@Benchmark
+	public ByteBuffer save(FieldState field, Saved saved) {
+		return saved.saveState.save(field.game);
+	}
+
+	@Benchmark
+	public void load(FieldState field, Saved saved) throws IOException {
+		SaveState.load(field.game, saved.saved.duplicate());
+	}
+
+}
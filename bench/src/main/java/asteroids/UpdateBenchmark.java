@@ -0,0 +1,30 @@
+package asteroids;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/* Benchmarks a full simulation tick and the collision passes on their own.
+ * Both change the field, so each iteration times one batch of TICKS calls
+ * on a field that was put back before it. Scores are per batch. */
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = UpdateBenchmark.TICKS)
+@Measurement(iterations = 20, batchSize = UpdateBenchmark.TICKS)
+@Fork(1)
+public class UpdateBenchmark {
+
+	static final int TICKS = 100;
+
+	@Benchmark
+	public void update(FreshFieldState state) {
+		state.game.update();
+	}
+
+	@Benchmark
+	public void collisions(FreshFieldState state) {
+		state.game.checkBulletCollisions();
+		state.game.checkPlayerCollisions();
+	}
+
+}
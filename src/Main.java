@@ -1,9 +0,0 @@
-/* Main class simply creates a GameFrame to start execution */
-
-public class Main {
-
-	public static void main(String[] args) {
-		new GameFrame();
-	}
-
-}
\ No newline at end of file
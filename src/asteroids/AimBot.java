@@ -0,0 +1,70 @@
+package asteroids;
+
+/* The AimBot stays where it is, turns towards the nearest asteroid, leading
+ * it by the time a bullet takes to get there, and fires while it is aimed.
+ * It makes no random choices, so a game it plays only depends on the seed. */
+
+public class AimBot implements Bot {
+
+	// bullets leave the player at this speed
+	private final float BULLET_SPEED = 1280.0f;
+	// turn when the aim is off by more than this many degrees
+	private final float TURN_TOLERANCE = 3.0f;
+
+	@Override
+	public int nextKeys(GameLogic game, Player player) {
+		float px = player.getX() + player.getWidth() / 2;
+		float py = player.getY() + player.getHeight() / 2;
+		int width = game.getWidth();
+		int height = game.getHeight();
+		EntityStore<Asteroid> asteroids = game.getAsteroids();
+		Components c = asteroids.getComponents();
+		Asteroid target = null;
+		float targetX = 0.0f, targetY = 0.0f, targetDistance = Float.MAX_VALUE;
+		for (int i = 0; i < asteroids.size(); i++) {
+			// the shortest way to the asteroid, which may be across an edge
+			float dx = wrap(c.x[i] + c.width[i] / 2 - px, width);
+			float dy = wrap(c.y[i] + c.height[i] / 2 - py, height);
+			float distance = dx * dx + dy * dy;
+			if (distance < targetDistance) {
+				target = asteroids.get(i);
+				targetX = dx;
+				targetY = dy;
+				targetDistance = distance;
+			}
+		}
+		if (target == null) {
+			return 0;
+		}
+		float time = (float)Math.sqrt(targetDistance) / BULLET_SPEED;
+		targetX += target.getXSpeed() * time;
+		targetY += target.getYSpeed() * time;
+		float angle = (float)Math.toDegrees(Math.atan2(targetY, targetX));
+		float diff = wrap(angle - player.getDirection(), 360.0f);
+		// the aim is good enough while the bullet would pass within the radius
+		float distance = (float)Math.sqrt(targetX * targetX + targetY * targetY);
+		float tolerance = (float)Math.toDegrees(Math.atan2(target.getSize() / 2, distance));
+		int keys = 0;
+		if (diff < -TURN_TOLERANCE) {
+			keys |= InputLog.KEY_LEFT;
+		} else if (diff > TURN_TOLERANCE) {
+			keys |= InputLog.KEY_RIGHT;
+		}
+		if (Math.abs(diff) < tolerance) {
+			keys |= InputLog.KEY_SPACE;
+		}
+		return keys;
+	}
+
+	/* Returns the given difference wrapped into the range -size/2 to size/2. */
+	private static float wrap(float diff, float size) {
+		diff %= size;
+		if (diff > size / 2) {
+			diff -= size;
+		} else if (diff < -size / 2) {
+			diff += size;
+		}
+		return diff;
+	}
+
+}
@@ -0,0 +1,74 @@
+package asteroids;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/* The AssetLoader loads assets on background threads and hands each one to its
+ * callback when it is ready, so the game can start before they all are. */
+
+public class AssetLoader {
+
+	private final ExecutorService executor;
+	private final AtomicInteger pending;
+	private final long startTime;
+
+	public AssetLoader(int threads) {
+		AtomicInteger count = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "asset-loader-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		// one more than the assets being loaded until shutdown() is called
+		pending = new AtomicInteger(1);
+		startTime = System.nanoTime();
+	}
+
+	/* Loads an asset in the background and passes it to the given callback,
+	 * on the loading thread. A failed asset is reported and skipped. */
+	public <T> void load(String name, Callable<T> loader, Consumer<T> done) {
+		load(name, loader, done, () -> {});
+	}
+
+	/* Loads an asset like above, and runs the given callback on the loading
+	 * thread if it fails. */
+	public <T> void load(String name, Callable<T> loader, Consumer<T> done, Runnable failed) {
+		pending.incrementAndGet();
+		executor.execute(() -> {
+			long start = System.nanoTime();
+			try {
+				done.accept(loader.call());
+				System.out.printf(Locale.ROOT, "Loaded %s in %.1f ms%n", name, (System.nanoTime() - start) / 1000000.0);
+			} catch (Exception e) {
+				System.out.println("Warning: Could not load " + name + ": " + e.getMessage());
+				failed.run();
+			}
+			finished();
+		});
+	}
+
+	/* Marks that no more assets will be added, and lets the threads end once
+	 * the assets added so far have loaded. */
+	public void shutdown() {
+		executor.shutdown();
+		finished();
+	}
+
+	private void finished() {
+		if (pending.decrementAndGet() == 0) {
+			System.out.printf(Locale.ROOT, "All assets loaded %.1f ms after the loader started, %d ms after JVM start%n",
+					(System.nanoTime() - startTime) / 1000000.0, uptimeMillis());
+		}
+	}
+
+	/* Returns the milliseconds since the JVM started. */
+	public static long uptimeMillis() {
+		return ManagementFactory.getRuntimeMXBean().getUptime();
+	}
+
+}
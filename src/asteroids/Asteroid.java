@@ -0,0 +1,221 @@
+package asteroids;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* The Asteroid class creates a randomly generated polygon as it's sprite. All
+ * random choices come from the generator passed in, so that a seeded game
+ * plays out the same every time. */
+
+public class Asteroid extends Entity {
+
+	public static final int LARGE = 128;
+	public static final int MEDIUM = 64;
+	public static final int SMALL = 32;
+	public static final Color COLOR = new Color(110, 55, 32);
+	private final int MIN_POINTS = 16;
+	private static final int MAX_POINTS = 32;
+	private final float MIN_SPEED = 64.0f;
+	private final float MAX_SPEED = 128.0f;
+	private final float MAX_DIRECTION_OFFSET = 25.0f;
+
+	// shared by all games, which may run on several threads
+	private static final AtomicInteger nextShapeId = new AtomicInteger(1);
+
+	private final int slot;
+	private int shapeId;
+	private int size;
+	private int numPoints;
+	private float direction;
+	private float[][] points;
+
+	/* Creates an asteroid without a shape, which has to be reset before it is
+	 * used. The slot must be unique among the asteroids of a game. */
+	public Asteroid(int slot) {
+		this.slot = slot;
+		points = new float[MAX_POINTS][2];
+		size = LARGE;
+		setSize(size, size);
+	}
+
+	public Asteroid(int slot, Random random) {
+		this(slot);
+		reset(random);
+	}
+
+	public Asteroid(int slot, Asteroid prev, Random random) {
+		this(slot);
+		reset(prev, random);
+	}
+
+	/* Reinitialises the asteroid as a new large asteroid at a random position. */
+	public void reset(Random random) {
+		float randomX = (float)(random.nextDouble() * wrapWidth);
+		float randomY = (float)(random.nextDouble() * wrapHeight);
+		direction = (float)(random.nextDouble() * 360.0f);
+		setPosition(randomX, randomY);
+		float randomSpeed = (float)(random.nextDouble() * (MAX_SPEED - MIN_SPEED) + MIN_SPEED);
+		setXSpeed(randomSpeed * FastTrig.cos(direction));
+		setYSpeed(randomSpeed * FastTrig.sin(direction));
+		size = LARGE;
+		setSize(size, size);
+		randomizeLook(random);
+	}
+
+	/* Reinitialises the asteroid as one of the pieces that the given asteroid
+	 * splits into. The given asteroid must be a different instance. */
+	public void reset(Asteroid prev, Random random) {
+		int prevSize = prev.getSize();
+		if (prevSize == LARGE) {
+			size = MEDIUM;
+		} else {
+			size = SMALL;
+		}
+		setPosition(prev.getX() + prevSize / 2 - size / 2, prev.getY() + prevSize / 2 - size / 2);
+		float dirOffset = (float)(random.nextDouble() * MAX_DIRECTION_OFFSET * 2) - MAX_DIRECTION_OFFSET;
+		float prevXSpeed = prev.getXSpeed();
+		float prevYSpeed = prev.getYSpeed();
+		float prevSpeed = (float)Math.sqrt(prevXSpeed * prevXSpeed + prevYSpeed * prevYSpeed);
+		direction = (prev.getDirection() + dirOffset) % 360.0f;
+		setXSpeed(prevSpeed * FastTrig.cos(direction));
+		setYSpeed(prevSpeed * FastTrig.sin(direction));
+		setSize(size, size);
+		randomizeLook(random);
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	/* Writes the asteroid's state, with its outline. */
+	@Override
+	public void save(ByteBuffer out) {
+		super.save(out);
+		out.putInt(size);
+		out.putFloat(direction);
+		out.putInt(numPoints);
+		for (int i = 0; i < numPoints; i++) {
+			out.putFloat(points[i][0]);
+			out.putFloat(points[i][1]);
+		}
+	}
+
+	static void check(ByteBuffer in) throws IOException {
+		Entity.check(in);
+		int size = in.getInt();
+		if (size != SMALL && size != MEDIUM && size != LARGE) {
+			throw new IOException("Bad asteroid size " + size);
+		}
+		in.getFloat();
+		int numPoints = in.getInt();
+		if (numPoints < 0 || numPoints > MAX_POINTS) {
+			throw new IOException("Bad asteroid outline of " + numPoints + " points");
+		}
+		in.position(in.position() + numPoints * 2 * 4);
+	}
+
+	/* Reads the state written by save(), as a new shape. */
+	@Override
+	public void load(ByteBuffer in) {
+		super.load(in);
+		size = in.getInt();
+		direction = in.getFloat();
+		numPoints = in.getInt();
+		for (int i = 0; i < numPoints; i++) {
+			points[i][0] = in.getFloat();
+			points[i][1] = in.getFloat();
+		}
+		shapeId = nextShapeId.getAndIncrement();
+	}
+
+	private void randomizeLook(Random random) {
+		shapeId = nextShapeId.getAndIncrement();
+		numPoints = (int)(random.nextDouble() * (MAX_POINTS - MIN_POINTS) + MIN_POINTS);
+		int turn = 360 / numPoints;
+		float maxPointOffset = size / (SMALL / 2);
+		for (int i = 0, angle = 0; i < numPoints; i++, angle += turn) {
+			float offset = (float)random.nextDouble() * (2 * maxPointOffset) - maxPointOffset;
+			float length = size / 2 + offset;
+			points[i][0] = length * FastTrig.cos(angle);
+			points[i][1] = length * FastTrig.sin(angle);
+		}
+	}
+
+	@Override
+	public boolean contains(float x1, float y1) {
+		return contains(getX(), getY(), size, x1, y1);
+	}
+
+	/* Tests a point against an asteroid of the given size at the given
+	 * position, for callers that have it in arrays. */
+	static boolean contains(float x, float y, int size, float x1, float y1) {
+		float xMid = x + size / 2;
+		float yMid = y + size / 2;
+		float xDiff = x1 - xMid;
+		float yDiff = y1 - yMid;
+		float distance = (float)Math.sqrt((xDiff * xDiff) + (yDiff * yDiff));
+		return (distance <= size / 2);
+	}
+
+	/* Returns how far along the segment from (x0, y0) to (x1, y1) it first
+	 * touches the asteroid, from 0.0 at the start to 1.0 at the end, or -1.0
+	 * if it misses the asteroid. */
+	public float sweep(float x0, float y0, float x1, float y1) {
+		return sweep(getX(), getY(), size, x0, y0, x1, y1);
+	}
+
+	/* Sweeps a segment against an asteroid of the given size at the given
+	 * position, see above. */
+	static float sweep(float x, float y, int size, float x0, float y0, float x1, float y1) {
+		float radius = size / 2;
+		// the segment relative to the centre, solved for |p + t * d| = radius
+		float px = x0 - (x + radius);
+		float py = y0 - (y + radius);
+		float dx = x1 - x0;
+		float dy = y1 - y0;
+		float c = px * px + py * py - radius * radius;
+		if (c <= 0.0f) {
+			// starts inside
+			return 0.0f;
+		}
+		float a = dx * dx + dy * dy;
+		float b = px * dx + py * dy;
+		if (a == 0.0f || b >= 0.0f) {
+			// not moving, or moving away from the centre
+			return -1.0f;
+		}
+		float discriminant = b * b - a * c;
+		if (discriminant < 0.0f) {
+			return -1.0f;
+		}
+		float t = (-b - (float)Math.sqrt(discriminant)) / a;
+		return (t <= 1.0f ? t : -1.0f);
+	}
+
+	public float getDirection() {
+		return direction;
+	}
+
+	/* Returns the index of this instance, which stays the same when a pooled
+	 * asteroid is reset and can be used to cache per-asteroid data. */
+	public int getSlot() {
+		return slot;
+	}
+
+	/* Returns an id that changes whenever the asteroid gets a new shape. */
+	public int getShapeId() {
+		return shapeId;
+	}
+
+	public float[][] getPoints() {
+		return points;
+	}
+
+	public int getNumPoints() {
+		return numPoints;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+package asteroids;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/* The AudioMixer plays AudioSamples through a fixed pool of mixed voices. The
+ * game thread only queues triggers, which never blocks or allocates. */
+
+public class AudioMixer {
+
+	public static final float SAMPLE_RATE = 44100.0f;
+	public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+	public static final int FRAME_SIZE = 4;
+	public static final int MAX_VOICES = 16;
+
+	private static final int QUEUE_SIZE = 64;
+	private static final int LOOP_FLAG = 1 << 30;
+	// frames mixed at a time, about 6 ms
+	private static final int CHUNK_FRAMES = 256;
+	// frames buffered by the line, about 23 ms
+	private static final int LINE_BUFFER_FRAMES = 1024;
+
+	private final AtomicReferenceArray<AudioSample> samples;
+	// 1 for samples that could not be loaded
+	private final AtomicIntegerArray failed;
+	private final int[] commands;
+	private final AtomicLong written;
+	private final AtomicLong read;
+	private final boolean[] pendingLoops;
+	// voices, only touched by the thread calling render()
+	private final int[] voiceSample;
+	private final int[] voicePosition;
+	private final boolean[] voiceLoop;
+	private final boolean[] voiceActive;
+	private final long[] voiceStart;
+	private long started;
+	private int[] mix;
+	// playback
+	private volatile boolean running;
+	private boolean stopped;
+	private SourceDataLine line;
+	private Thread thread;
+
+	public AudioMixer(int sampleCount) {
+		samples = new AtomicReferenceArray<>(sampleCount);
+		failed = new AtomicIntegerArray(sampleCount);
+		commands = new int[QUEUE_SIZE];
+		written = new AtomicLong();
+		read = new AtomicLong();
+		pendingLoops = new boolean[sampleCount];
+		voiceSample = new int[MAX_VOICES];
+		voicePosition = new int[MAX_VOICES];
+		voiceLoop = new boolean[MAX_VOICES];
+		voiceActive = new boolean[MAX_VOICES];
+		voiceStart = new long[MAX_VOICES];
+		mix = new int[CHUNK_FRAMES * 2];
+	}
+
+	/* Makes a sample available under the given id. Can be called from any
+	 * thread. */
+	public void setSample(int id, AudioSample sample) {
+		samples.set(id, sample);
+	}
+
+	/* Marks the sample with the given id as one that will never be set, so
+	 * that loops waiting for it are dropped. Can be called from any thread. */
+	public void setFailed(int id) {
+		failed.set(id, 1);
+	}
+
+	/* Queues the given sample to be started on the next render, and returns
+	 * false if the queue was full and the trigger was dropped. Must only be
+	 * called from one thread at a time. */
+	public boolean trigger(int id, boolean loop) {
+		long w = written.get();
+		if (w - read.get() >= QUEUE_SIZE) {
+			return false;
+		}
+		commands[(int)(w % QUEUE_SIZE)] = id | (loop ? LOOP_FLAG : 0);
+		written.lazySet(w + 1);
+		return true;
+	}
+
+	/* Starts the queued sounds and mixes the given number of frames into the
+	 * buffer as 16 bit little-endian stereo. */
+	public void render(byte[] buffer, int offset, int frames) {
+		startQueued();
+		if (mix.length < frames * 2) {
+			mix = new int[frames * 2];
+		}
+		int[] m = mix;
+		Arrays.fill(m, 0, frames * 2, 0);
+		for (int v = 0; v < MAX_VOICES; v++) {
+			if (voiceActive[v]) {
+				mixVoice(v, m, frames);
+			}
+		}
+		for (int i = 0, b = offset; i < frames * 2; i++, b += 2) {
+			int value = m[i];
+			if (value > Short.MAX_VALUE) {
+				value = Short.MAX_VALUE;
+			} else if (value < Short.MIN_VALUE) {
+				value = Short.MIN_VALUE;
+			}
+			buffer[b] = (byte)value;
+			buffer[b + 1] = (byte)(value >> 8);
+		}
+	}
+
+	/* Opens the default audio device and starts mixing into it on a new
+	 * thread, unless the mixer has been stopped already. */
+	public synchronized void start() throws LineUnavailableException {
+		if (stopped) {
+			return;
+		}
+		line = AudioSystem.getSourceDataLine(FORMAT);
+		line.open(FORMAT, LINE_BUFFER_FRAMES * FRAME_SIZE);
+		line.start();
+		running = true;
+		thread = new Thread(this::play, "audio-mixer");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MAX_PRIORITY);
+		thread.start();
+	}
+
+	/* Stops playing and closes the audio device. */
+	public synchronized void stop() {
+		stopped = true;
+		running = false;
+		if (thread != null) {
+			try {
+				thread.join();
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+			thread = null;
+		}
+	}
+
+	private void play() {
+		byte[] buffer = new byte[CHUNK_FRAMES * FRAME_SIZE];
+		while (running) {
+			render(buffer, 0, CHUNK_FRAMES);
+			// blocks until the line has room, which paces the thread
+			line.write(buffer, 0, buffer.length);
+		}
+		line.stop();
+		line.close();
+	}
+
+	private void startQueued() {
+		for (int id = 0; id < pendingLoops.length; id++) {
+			if (pendingLoops[id]) {
+				if (samples.get(id) != null) {
+					pendingLoops[id] = false;
+					startVoice(id, true);
+				} else if (failed.get(id) != 0) {
+					pendingLoops[id] = false;
+				}
+			}
+		}
+		long r = read.get();
+		long w = written.get();
+		while (r < w) {
+			int command = commands[(int)(r % QUEUE_SIZE)];
+			r++;
+			int id = command & ~LOOP_FLAG;
+			boolean loop = (command & LOOP_FLAG) != 0;
+			if (samples.get(id) != null) {
+				startVoice(id, loop);
+			} else if (loop && failed.get(id) == 0) {
+				pendingLoops[id] = true;
+			}
+		}
+		read.lazySet(r);
+	}
+
+	private void startVoice(int id, boolean loop) {
+		int voice = -1;
+		long oldest = Long.MAX_VALUE;
+		for (int v = 0; v < MAX_VOICES; v++) {
+			if (!voiceActive[v]) {
+				voice = v;
+				break;
+			}
+			if (!voiceLoop[v] && voiceStart[v] < oldest) {
+				oldest = voiceStart[v];
+				voice = v;
+			}
+		}
+		if (voice == -1) {
+			// every voice is looping
+			return;
+		}
+		voiceSample[voice] = id;
+		voicePosition[voice] = 0;
+		voiceLoop[voice] = loop;
+		voiceActive[voice] = true;
+		voiceStart[voice] = started++;
+	}
+
+	private void mixVoice(int v, int[] m, int frames) {
+		AudioSample sample = samples.get(voiceSample[v]);
+		short[] data = sample.getData();
+		int length = sample.getFrames();
+		int position = voicePosition[v];
+		int out = 0;
+		while (out < frames) {
+			int count = Math.min(frames - out, length - position);
+			for (int i = out * 2, j = position * 2, end = (out + count) * 2; i < end; i++, j++) {
+				m[i] += data[j];
+			}
+			out += count;
+			position += count;
+			if (position == length) {
+				if (voiceLoop[v] && length > 0) {
+					position = 0;
+				} else {
+					voiceActive[v] = false;
+					break;
+				}
+			}
+		}
+		voicePosition[v] = position;
+	}
+
+}
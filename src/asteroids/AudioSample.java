@@ -0,0 +1,80 @@
+package asteroids;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/* An AudioSample holds a whole sound decoded to 16 bit stereo PCM at the
+ * mixer's sample rate, as interleaved left and right values, so that the
+ * mixer can add it to its output without any conversion. */
+
+public class AudioSample {
+
+	private short[] data;
+	private int frames;
+
+	/* Creates a sample from interleaved stereo PCM values. */
+	public AudioSample(short[] data) {
+		this.data = data;
+		frames = data.length / 2;
+	}
+
+	/* Loads and decodes a sound file, converting it to the mixer's format. */
+	public static AudioSample load(File file) throws IOException, UnsupportedAudioFileException {
+		AudioInputStream in = AudioSystem.getAudioInputStream(file);
+		try {
+			AudioFormat source = in.getFormat();
+			int channels = source.getChannels();
+			if (channels != 1 && channels != 2) {
+				throw new UnsupportedAudioFileException(file + " has " + channels + " channels");
+			}
+			AudioFormat target = new AudioFormat(AudioMixer.SAMPLE_RATE, 16, channels, true, false);
+			if (!source.matches(target)) {
+				in = AudioSystem.getAudioInputStream(target, in);
+			}
+			byte[] bytes = readAll(in);
+			int values = bytes.length / 2;
+			short[] data = new short[channels == 1 ? values * 2 : values];
+			for (int i = 0; i < values; i++) {
+				short value = (short)((bytes[i * 2] & 0xff) | (bytes[i * 2 + 1] << 8));
+				if (channels == 1) {
+					data[i * 2] = value;
+					data[i * 2 + 1] = value;
+				} else {
+					data[i] = value;
+				}
+			}
+			return new AudioSample(data);
+		} finally {
+			in.close();
+		}
+	}
+
+	public short[] getData() {
+		return data;
+	}
+
+	/* Returns the length of the sample in stereo frames. */
+	public int getFrames() {
+		return frames;
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		byte[] buffer = new byte[65536];
+		int size = 0;
+		int n;
+		while ((n = in.read(buffer, size, buffer.length - size)) != -1) {
+			size += n;
+			if (size == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+		}
+		return Arrays.copyOf(buffer, size);
+	}
+
+}
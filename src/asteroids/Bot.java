@@ -0,0 +1,11 @@
+package asteroids;
+
+/* A Bot plays the game in place of the keyboard, choosing the control keys
+ * once per tick. */
+
+public interface Bot {
+
+	/* Returns the keys for the given ship, which is the one the bot steers. */
+	int nextKeys(GameLogic game, Player ship);
+
+}
@@ -0,0 +1,57 @@
+package asteroids;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/* Bullet class, need I say more? */
+
+public class Bullet extends Entity {
+
+	public static final Color COLOR = new Color(41, 168, 255);
+
+	public static final int SIZE = 8;
+	public static final int RADIUS = 4;
+
+	private final float SPEED = 1280.0f;
+	private final double LIFE_TIME = 1.0;
+
+	public Bullet() {
+		setSize(SIZE, SIZE);
+	}
+
+	public Bullet(Player player) {
+		reset(player);
+	}
+
+	/* Reinitialises the bullet as if it was just fired by the given player. */
+	public void reset(Player player) {
+		setPosition(player.getX() + player.getWidth() / 2, player.getY() + player.getHeight() / 2);
+		setSize(SIZE, SIZE);
+		setXSpeed(player.getXSpeed() + SPEED * player.getXDirection());
+		setYSpeed(player.getYSpeed() + SPEED * player.getYDirection());
+		c.lifetime[index] = LIFE_TIME;
+	}
+
+	@Override
+	public void save(ByteBuffer out) {
+		super.save(out);
+		out.putDouble(c.lifetime[index]);
+	}
+
+	static void check(ByteBuffer in) throws IOException {
+		Entity.check(in);
+		in.position(in.position() + 8);
+	}
+
+	@Override
+	public void load(ByteBuffer in) {
+		super.load(in);
+		c.lifetime[index] = in.getDouble();
+	}
+
+	public boolean hasTime() {
+		return (c.lifetime[index] > 0.0);
+	}
+
+}
\ No newline at end of file
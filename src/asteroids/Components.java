@@ -0,0 +1,108 @@
+package asteroids;
+
+import java.util.Arrays;
+
+/* Components holds the state that every entity has in dense primitive arrays
+ * indexed by slot, so that systems like move() loop over arrays. */
+
+public class Components {
+
+	float[] x, y;
+	float[] prevX, prevY;
+	float[] xSpeed, ySpeed;
+	int[] width, height;
+	double[] lifetime;
+
+	public Components(int capacity) {
+		capacity = Math.max(1, capacity);
+		x = new float[capacity];
+		y = new float[capacity];
+		prevX = new float[capacity];
+		prevY = new float[capacity];
+		xSpeed = new float[capacity];
+		ySpeed = new float[capacity];
+		width = new int[capacity];
+		height = new int[capacity];
+		lifetime = new double[capacity];
+	}
+
+	public int capacity() {
+		return x.length;
+	}
+
+	/* Makes room for at least the given number of slots. */
+	public void ensureCapacity(int capacity) {
+		if (capacity > x.length) {
+			grow(Math.max(capacity, x.length * 2));
+		}
+	}
+
+	// kept out of ensureCapacity() so that the rarely taken copies are not
+	// compiled into every caller that adds an entity
+	private void grow(int capacity) {
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		prevX = Arrays.copyOf(prevX, capacity);
+		prevY = Arrays.copyOf(prevY, capacity);
+		xSpeed = Arrays.copyOf(xSpeed, capacity);
+		ySpeed = Arrays.copyOf(ySpeed, capacity);
+		width = Arrays.copyOf(width, capacity);
+		height = Arrays.copyOf(height, capacity);
+		lifetime = Arrays.copyOf(lifetime, capacity);
+	}
+
+	/* Copies every component of slot i of the source to slot j of the
+	 * destination, which may be the same. */
+	public static void copy(Components src, int i, Components dst, int j) {
+		dst.x[j] = src.x[i];
+		dst.y[j] = src.y[i];
+		dst.prevX[j] = src.prevX[i];
+		dst.prevY[j] = src.prevY[i];
+		dst.xSpeed[j] = src.xSpeed[i];
+		dst.ySpeed[j] = src.ySpeed[i];
+		dst.width[j] = src.width[i];
+		dst.height[j] = src.height[i];
+		dst.lifetime[j] = src.lifetime[i];
+	}
+
+	/* Moves the entities in the slots from and up to to by their velocity
+	 * over the given period. An entity that leaves the field entirely comes
+	 * back in at the opposite edge. */
+	public void move(int from, int to, double period, int wrapWidth, int wrapHeight) {
+		for (int i = from; i < to; i++) {
+			move(i, period, wrapWidth, wrapHeight);
+		}
+	}
+
+	/* Moves the entity in the given slot, see above. */
+	public void move(int i, double period, int wrapWidth, int wrapHeight) {
+		float px = x[i];
+		float py = y[i];
+		prevX[i] = px;
+		prevY[i] = py;
+		px += xSpeed[i] * period;
+		py += ySpeed[i] * period;
+		if (px > wrapWidth) {
+			px = 0 - width[i];
+		} else if (px + width[i] < 0) {
+			px = wrapWidth;
+		}
+		if (py > wrapHeight) {
+			py = 0 - height[i];
+		} else if (py + height[i] < 0) {
+			py = wrapHeight;
+		}
+		x[i] = px;
+		y[i] = py;
+	}
+
+	/* Takes the given period off the lifetime of the entities in the slots
+	 * from and up to to. */
+	public void age(int from, int to, double period) {
+		double[] lifetime = this.lifetime;
+		for (int i = from; i < to; i++) {
+			lifetime[i] -= period;
+		}
+	}
+
+}
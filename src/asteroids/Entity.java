@@ -0,0 +1,190 @@
+package asteroids;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/* The abstract Entity class from which all objects in the game should inherit.
+ * An entity is a handle to its slot in a Components. */
+
+abstract public class Entity {
+
+	protected static int wrapWidth, wrapHeight;
+	private static float alpha = 1.0f;
+
+	private final Components home;
+	protected Components c;
+	protected int index;
+
+	public Entity() {
+		home = new Components(1);
+		c = home;
+		index = 0;
+	}
+
+	public static void setWrapDimension(int width, int height) {
+		wrapWidth = width;
+		wrapHeight = height;
+	}
+
+	/* Sets how far between the previous and the current tick entities are
+	 * drawn, from 0.0 (previous) to 1.0 (current). */
+	public static void setInterpolation(float a) {
+		alpha = a;
+	}
+
+	/* Moves the components into the given slot of the given store. */
+	void attach(Components store, int slot) {
+		Components.copy(c, index, store, slot);
+		c = store;
+		index = slot;
+	}
+
+	/* Moves the components back into the entity's own store. */
+	void detach() {
+		Components.copy(c, index, home, 0);
+		c = home;
+		index = 0;
+	}
+
+	/* Returns the slot of the entity in the given store, or -1 if it is not
+	 * in it. */
+	int indexIn(Components store) {
+		return (c == store ? index : -1);
+	}
+
+	/* Sets the slot of the store the components have been moved to. */
+	void setIndex(int slot) {
+		index = slot;
+	}
+
+	public void move(double period) {
+		c.move(index, period, wrapWidth, wrapHeight);
+	}
+
+	/* Returns the x position to draw at, interpolated between the previous
+	 * and current tick unless the entity wrapped around in between. */
+	protected float drawX() {
+		float x = c.x[index];
+		float prevX = c.prevX[index];
+		float diff = x - prevX;
+		if (diff > wrapWidth / 2 || -diff > wrapWidth / 2) {
+			return x;
+		}
+		return prevX + diff * alpha;
+	}
+
+	protected float drawY() {
+		float y = c.y[index];
+		float prevY = c.prevY[index];
+		float diff = y - prevY;
+		if (diff > wrapHeight / 2 || -diff > wrapHeight / 2) {
+			return y;
+		}
+		return prevY + diff * alpha;
+	}
+
+	/* Returns the x position before the last move. */
+	public float getPrevX() {
+		return c.prevX[index];
+	}
+
+	public float getPrevY() {
+		return c.prevY[index];
+	}
+
+	public float getX() {
+		return c.x[index];
+	}
+
+	public float getY() {
+		return c.y[index];
+	}
+
+	protected void setSize(int width, int height) {
+		c.width[index] = width;
+		c.height[index] = height;
+	}
+
+	public int getWidth() {
+		return c.width[index];
+	}
+
+	public int getHeight() {
+		return c.height[index];
+	}
+
+	public float getXSpeed() {
+		return c.xSpeed[index];
+	}
+
+	public float getYSpeed() {
+		return c.ySpeed[index];
+	}
+
+	public void setSpeed(float xSpeed, float ySpeed) {
+		c.xSpeed[index] = xSpeed;
+		c.ySpeed[index] = ySpeed;
+	}
+
+	public void setXSpeed(float speed) {
+		c.xSpeed[index] = speed;
+	}
+
+	public void setYSpeed(float speed) {
+		c.ySpeed[index] = speed;
+	}
+
+	public void setPosition(float x, float y) {
+		c.x[index] = c.prevX[index] = x;
+		c.y[index] = c.prevY[index] = y;
+	}
+
+	public void setXPosition(float x) {
+		c.x[index] = c.prevX[index] = x;
+	}
+
+	public void setYPosition(float y) {
+		c.y[index] = c.prevY[index] = y;
+	}
+
+	/* Writes the state of the entity to the buffer, for a SaveState.
+	 * Subclasses add their own state after it. */
+	public void save(ByteBuffer out) {
+		out.putFloat(c.x[index]);
+		out.putFloat(c.y[index]);
+		out.putFloat(c.prevX[index]);
+		out.putFloat(c.prevY[index]);
+		out.putFloat(c.xSpeed[index]);
+		out.putFloat(c.ySpeed[index]);
+		out.putInt(c.width[index]);
+		out.putInt(c.height[index]);
+	}
+
+	/* Skips the state written by save(), throwing an IOException if it
+	 * could not be loaded. */
+	static void check(ByteBuffer in) throws IOException {
+		in.position(in.position() + 6 * 4);
+		if (in.getInt() < 0 || in.getInt() < 0) {
+			throw new IOException("Negative entity size");
+		}
+	}
+
+	/* Reads the state written by save(). */
+	public void load(ByteBuffer in) {
+		c.x[index] = in.getFloat();
+		c.y[index] = in.getFloat();
+		c.prevX[index] = in.getFloat();
+		c.prevY[index] = in.getFloat();
+		c.xSpeed[index] = in.getFloat();
+		c.ySpeed[index] = in.getFloat();
+		c.width[index] = in.getInt();
+		c.height[index] = in.getInt();
+	}
+
+	public boolean contains(float x1, float y1) {
+		float x = c.x[index];
+		float y = c.y[index];
+		return ((x1 <= x + c.width[index] && x1 >= x) && (y1 <= y + c.height[index] && y1 >= y));
+	}
+
+}
\ No newline at end of file
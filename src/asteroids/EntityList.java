@@ -0,0 +1,116 @@
+package asteroids;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* EntityList is a dense array-backed list of entities. Removal moves the last
+ * element into the gap, so removing the current element while iterating is
+ * safe. */
+
+public class EntityList<E> implements Iterable<E> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private Object[] elements;
+	private int size;
+
+	public EntityList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public EntityList(int capacity) {
+		elements = new Object[Math.max(1, capacity)];
+		size = 0;
+	}
+
+	public void add(E element) {
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, size * 2);
+		}
+		elements[size++] = element;
+	}
+
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		return (E)elements[index];
+	}
+
+	/* Removes the element at the given index by moving the last element into
+	 * its place, and returns the removed element. */
+	@SuppressWarnings("unchecked")
+	public E remove(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		E removed = (E)elements[index];
+		size--;
+		elements[index] = elements[size];
+		elements[size] = null;
+		return removed;
+	}
+
+	/* Removes the given element if it is in the list. Finding the element is a
+	 * linear search, the removal itself is constant time. */
+	public boolean remove(E element) {
+		for (int i = 0; i < size; i++) {
+			if (elements[i] == element) {
+				remove(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return (size == 0);
+	}
+
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+
+			private int next = 0;
+			private boolean canRemove = false;
+
+			@Override
+			public boolean hasNext() {
+				return (next < size);
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if (next >= size) {
+					throw new NoSuchElementException();
+				}
+				canRemove = true;
+				return (E)elements[next++];
+			}
+
+			@Override
+			public void remove() {
+				if (!canRemove) {
+					throw new IllegalStateException();
+				}
+				canRemove = false;
+				next--;
+				EntityList.this.remove(next);
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,42 @@
+package asteroids;
+
+import java.util.function.Supplier;
+
+/* EntityPool recycles entity instances so that steady-state gameplay does not
+ * create garbage. Acquired instances keep whatever state they were released
+ * with and must be reset by the caller before they are used. */
+
+public class EntityPool<E> {
+
+	private Supplier<E> factory;
+	private EntityList<E> free;
+
+	public EntityPool(Supplier<E> factory) {
+		this.factory = factory;
+		free = new EntityList<>();
+	}
+
+	public E acquire() {
+		if (free.isEmpty()) {
+			return factory.get();
+		}
+		return free.remove(free.size() - 1);
+	}
+
+	public void release(E element) {
+		free.add(element);
+	}
+
+	/* Releases every element in the given list and clears it. */
+	public void releaseAll(EntityList<E> list) {
+		for (int i = 0; i < list.size(); i++) {
+			free.add(list.get(i));
+		}
+		list.clear();
+	}
+
+	public int available() {
+		return free.size();
+	}
+
+}
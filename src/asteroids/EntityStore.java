@@ -0,0 +1,75 @@
+package asteroids;
+
+/* EntityStore is an EntityList that keeps the components of its entities dense
+ * and in list order. */
+
+public class EntityStore<E extends Entity> extends EntityList<E> {
+
+	private Components components;
+
+	public EntityStore() {
+		this(16);
+	}
+
+	public EntityStore(int capacity) {
+		super(capacity);
+		components = new Components(capacity);
+	}
+
+	public Components getComponents() {
+		return components;
+	}
+
+	@Override
+	public void add(E element) {
+		int index = size();
+		components.ensureCapacity(index + 1);
+		element.attach(components, index);
+		super.add(element);
+	}
+
+	@Override
+	public E remove(int index) {
+		E removed = get(index);
+		removed.detach();
+		int last = size() - 1;
+		if (index != last) {
+			Components.copy(components, last, components, index);
+			get(last).setIndex(index);
+		}
+		return super.remove(index);
+	}
+
+	@Override
+	public boolean remove(E element) {
+		int index = element.indexIn(components);
+		if (index < 0) {
+			return false;
+		}
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < size(); i++) {
+			get(i).detach();
+		}
+		super.clear();
+	}
+
+	/* Moves the entities from and up to to, see Components.move(). */
+	public void move(int from, int to, double period) {
+		components.move(from, to, period, Entity.wrapWidth, Entity.wrapHeight);
+	}
+
+	public void move(double period) {
+		move(0, size(), period);
+	}
+
+	/* Takes the given period off the lifetime of every entity. */
+	public void age(double period) {
+		components.age(0, size(), period);
+	}
+
+}
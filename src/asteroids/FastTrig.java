@@ -0,0 +1,34 @@
+package asteroids;
+
+/* FastTrig looks up sines and cosines of angles in degrees in a table instead
+ * of calling Math.sin and Math.cos. It is within 2e-6 of them from -360 to 720
+ * degrees, and within 1e-5 up to 3600 either way. */
+
+public class FastTrig {
+
+	private static final int STEPS = 4096;
+	private static final float STEPS_PER_DEGREE = STEPS / 360.0f;
+	private static final float[] SINES = new float[STEPS + 1];
+
+	static {
+		for (int i = 0; i <= STEPS; i++) {
+			SINES[i] = (float)Math.sin(i * 2.0 * Math.PI / STEPS);
+		}
+	}
+
+	private FastTrig() {
+	}
+
+	public static float sin(float degrees) {
+		float index = degrees * STEPS_PER_DEGREE;
+		int i = (int)Math.floor(index);
+		float fraction = index - i;
+		i &= STEPS - 1;
+		return SINES[i] + (SINES[i + 1] - SINES[i]) * fraction;
+	}
+
+	public static float cos(float degrees) {
+		return sin(degrees + 90.0f);
+	}
+
+}
@@ -0,0 +1,219 @@
+package asteroids;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/* A FrameSnapshot holds what the Renderer needs to draw one frame, so that the
+ * game can fill in the next one on another thread. */
+
+public class FrameSnapshot {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	// HUD
+	int score, lives, level;
+	boolean gameOver;
+	// player
+	float playerX, playerY;
+	int playerWidth, playerHeight;
+	int[] playerXPoints, playerYPoints;
+	boolean playerShield;
+	int shieldSeconds;
+	// other players' ships, three hull points each
+	int shipCount;
+	float[] shipX, shipY;
+	int[] shipXPoints, shipYPoints;
+	boolean[] shipShield;
+	// asteroids, with their shapes by slot
+	int asteroidCount;
+	float[] asteroidX, asteroidY;
+	int[] asteroidSlot;
+	int[] shapeIds, shapeSizes, shapeNumPoints;
+	float[][] shapePoints;
+	// bullets
+	int bulletCount;
+	float[] bulletX, bulletY;
+	// particles
+	int particleCount;
+	float[] particleX, particleY;
+	byte[] particleColor;
+	Color[] palette;
+	// starfield
+	long starSeed;
+	float[] starXOffsets, starYOffsets;
+
+	public FrameSnapshot() {
+		playerXPoints = new int[3];
+		playerYPoints = new int[3];
+		shipX = new float[0];
+		shipY = new float[0];
+		shipXPoints = new int[0];
+		shipYPoints = new int[0];
+		shipShield = new boolean[0];
+		asteroidX = new float[INITIAL_CAPACITY];
+		asteroidY = new float[INITIAL_CAPACITY];
+		asteroidSlot = new int[INITIAL_CAPACITY];
+		shapeIds = new int[INITIAL_CAPACITY];
+		shapeSizes = new int[INITIAL_CAPACITY];
+		shapeNumPoints = new int[INITIAL_CAPACITY];
+		shapePoints = new float[INITIAL_CAPACITY][];
+		bulletX = new float[INITIAL_CAPACITY];
+		bulletY = new float[INITIAL_CAPACITY];
+		particleX = new float[0];
+		particleY = new float[0];
+		particleColor = new byte[0];
+		palette = new Color[0];
+		starXOffsets = new float[Starfield.LAYERS];
+		starYOffsets = new float[Starfield.LAYERS];
+	}
+
+	/* Empties the snapshot before it is filled in for a new frame. */
+	public void clear() {
+		shipCount = 0;
+		asteroidCount = 0;
+		bulletCount = 0;
+		particleCount = 0;
+	}
+
+	public void setHud(int score, int lives, int level, boolean gameOver) {
+		this.score = score;
+		this.lives = lives;
+		this.level = level;
+		this.gameOver = gameOver;
+	}
+
+	public void setPlayer(Player player) {
+		playerX = player.drawX();
+		playerY = player.drawY();
+		playerWidth = player.getWidth();
+		playerHeight = player.getHeight();
+		player.getDrawPoints(playerXPoints, playerYPoints);
+		playerShield = player.hasShield();
+		shieldSeconds = (int)Math.ceil(player.getShieldTime());
+	}
+
+	public void addShip(Player ship) {
+		if (shipCount == shipX.length) {
+			int capacity = Math.max(4, shipCount * 2);
+			shipX = Arrays.copyOf(shipX, capacity);
+			shipY = Arrays.copyOf(shipY, capacity);
+			shipXPoints = Arrays.copyOf(shipXPoints, capacity * 3);
+			shipYPoints = Arrays.copyOf(shipYPoints, capacity * 3);
+			shipShield = Arrays.copyOf(shipShield, capacity);
+		}
+		shipX[shipCount] = ship.drawX();
+		shipY[shipCount] = ship.drawY();
+		ship.getDrawPoints(playerXPoints, playerYPoints);
+		System.arraycopy(playerXPoints, 0, shipXPoints, shipCount * 3, 3);
+		System.arraycopy(playerYPoints, 0, shipYPoints, shipCount * 3, 3);
+		shipShield[shipCount] = ship.hasShield();
+		shipCount++;
+	}
+
+	public void addAsteroid(Asteroid asteroid) {
+		int slot = asteroid.getSlot();
+		if (getShapeId(slot) != asteroid.getShapeId()) {
+			float[][] points = asteroid.getPoints();
+			int numPoints = asteroid.getNumPoints();
+			float[] flat = shapeBuffer(slot, points.length);
+			for (int i = 0; i < numPoints; i++) {
+				flat[i * 2] = points[i][0];
+				flat[i * 2 + 1] = points[i][1];
+			}
+			setShape(slot, asteroid.getShapeId(), numPoints, asteroid.getSize());
+		}
+		addAsteroid(slot, asteroid.drawX(), asteroid.drawY());
+	}
+
+	/* Adds an asteroid whose outline is given as x and y offsets from its
+	 * centre, one pair after the other. */
+	public void addAsteroid(int slot, int shapeId, float[] points, int numPoints, int size, float x, float y) {
+		if (getShapeId(slot) != shapeId) {
+			System.arraycopy(points, 0, shapeBuffer(slot, numPoints), 0, numPoints * 2);
+			setShape(slot, shapeId, numPoints, size);
+		}
+		addAsteroid(slot, x, y);
+	}
+
+	private void addAsteroid(int slot, float x, float y) {
+		if (asteroidCount == asteroidX.length) {
+			int capacity = asteroidCount * 2;
+			asteroidX = Arrays.copyOf(asteroidX, capacity);
+			asteroidY = Arrays.copyOf(asteroidY, capacity);
+			asteroidSlot = Arrays.copyOf(asteroidSlot, capacity);
+		}
+		asteroidX[asteroidCount] = x;
+		asteroidY[asteroidCount] = y;
+		asteroidSlot[asteroidCount] = slot;
+		asteroidCount++;
+	}
+
+	/* Returns the shape id kept in the given slot, making room for the slot
+	 * if needed. */
+	private int getShapeId(int slot) {
+		if (slot >= shapeIds.length) {
+			int capacity = Math.max(slot + 1, shapeIds.length * 2);
+			shapeIds = Arrays.copyOf(shapeIds, capacity);
+			shapeSizes = Arrays.copyOf(shapeSizes, capacity);
+			shapeNumPoints = Arrays.copyOf(shapeNumPoints, capacity);
+			shapePoints = Arrays.copyOf(shapePoints, capacity);
+		}
+		return shapeIds[slot];
+	}
+
+	/* Returns the slot's outline array, large enough for the given number of
+	 * points. */
+	private float[] shapeBuffer(int slot, int maxPoints) {
+		if (shapePoints[slot] == null || shapePoints[slot].length < maxPoints * 2) {
+			shapePoints[slot] = new float[maxPoints * 2];
+		}
+		return shapePoints[slot];
+	}
+
+	private void setShape(int slot, int shapeId, int numPoints, int size) {
+		shapeNumPoints[slot] = numPoints;
+		shapeSizes[slot] = size;
+		shapeIds[slot] = shapeId;
+	}
+
+	public void addBullet(Bullet bullet) {
+		addBullet(bullet.drawX(), bullet.drawY());
+	}
+
+	public void addBullet(float x, float y) {
+		if (bulletCount == bulletX.length) {
+			bulletX = Arrays.copyOf(bulletX, bulletCount * 2);
+			bulletY = Arrays.copyOf(bulletY, bulletCount * 2);
+		}
+		bulletX[bulletCount] = x;
+		bulletY[bulletCount] = y;
+		bulletCount++;
+	}
+
+	/* Copies the seed the starfield is built from and the offsets of its
+	 * layers, moved on at their speeds by the given time offset in seconds. */
+	public void setStarfield(long seed, float[] xOffsets, float[] yOffsets, float offset) {
+		starSeed = seed;
+		for (int i = 0; i < Starfield.LAYERS; i++) {
+			starXOffsets[i] = xOffsets[i] + Starfield.getXSpeed(i) * offset;
+			starYOffsets[i] = yOffsets[i] + Starfield.getYSpeed(i) * offset;
+		}
+	}
+
+	/* Copies the particles, shifted along their velocity by the given time
+	 * offset in seconds, and their palette. */
+	public void setParticles(ParticleSystem particles, float offset) {
+		if (particleX.length < particles.size()) {
+			int capacity = particles.getCapacity();
+			particleX = new float[capacity];
+			particleY = new float[capacity];
+			particleColor = new byte[capacity];
+		}
+		particleCount = particles.copyTo(particleX, particleY, particleColor, offset);
+		if (palette.length < particles.getPaletteSize()) {
+			palette = new Color[particles.getPaletteCapacity()];
+		}
+		particles.copyPalette(palette);
+	}
+
+}
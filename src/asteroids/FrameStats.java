@@ -0,0 +1,274 @@
+package asteroids;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Timer;
+import java.util.TimerTask;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/* FrameStats records how long each phase of a frame takes, for JMX and
+ * optionally a CSV file. */
+
+public class FrameStats implements FrameStatsMBean {
+
+	public static final int UPDATE = 0;
+	public static final int BULLET_COLLISIONS = 1;
+	public static final int PLAYER_COLLISIONS = 2;
+	public static final int BUFFER = 3;
+	public static final int SHOW = 4;
+	public static final int SNAPSHOT = 5;
+	public static final String PHASES[] = {
+		"update", "bullet_collisions", "player_collisions",
+		"buffer", "show", "snapshot"
+	};
+	private static final String OBJECT_NAME = "asteroids:type=FrameStats";
+
+	private LatencyHistogram[] totals;
+	private LatencyHistogram[] intervals;
+	private volatile long ticks, frames;
+	private volatile long frameSkipLimitHits, droppedTicks;
+	private volatile long contentsLost;
+	private long[] lastCounts;
+	private long startTime;
+	private Timer csvTimer;
+	private PrintWriter csv;
+
+	public FrameStats() {
+		totals = new LatencyHistogram[PHASES.length];
+		intervals = new LatencyHistogram[PHASES.length];
+		for (int i = 0; i < PHASES.length; i++) {
+			totals[i] = new LatencyHistogram();
+			intervals[i] = new LatencyHistogram();
+		}
+		lastCounts = new long[5];
+		startTime = System.nanoTime();
+	}
+
+	public void record(int phase, long nanos) {
+		totals[phase].record(nanos);
+		intervals[phase].record(nanos);
+	}
+
+	public void countTick() {
+		ticks++;
+	}
+
+	public void countFrame() {
+		frames++;
+	}
+
+	/* Counts a frame where the loop ran the maximum number of catch-up ticks
+	 * and dropped the given number of ticks' worth of time. */
+	public void countFrameSkipLimitHit(long dropped) {
+		frameSkipLimitHits++;
+		droppedTicks += dropped;
+	}
+
+	public void countContentsLost() {
+		contentsLost++;
+	}
+
+	public void register() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(this, name);
+		} catch (Exception e) {
+			System.out.println("Warning: could not register frame stats MBean: " + e.getMessage());
+		}
+	}
+
+	/* Starts appending a line of interval stats to the given CSV file every
+	 * given number of seconds. */
+	public void startCsv(String file, int seconds) {
+		try {
+			csv = new PrintWriter(new FileWriter(file));
+		} catch (IOException e) {
+			System.out.println("Warning: could not open " + file + ": " + e.getMessage());
+			return;
+		}
+		StringBuilder header = new StringBuilder("time_s,ticks,frames,frame_skip_limit_hits,dropped_ticks,contents_lost");
+		for (String phase : PHASES) {
+			header.append(',').append(phase).append("_p50_us");
+			header.append(',').append(phase).append("_p99_us");
+			header.append(',').append(phase).append("_max_us");
+		}
+		csv.println(header);
+		csv.flush();
+		csvTimer = new Timer("frame-stats-csv", true);
+		csvTimer.scheduleAtFixedRate(new TimerTask() {
+			@Override
+			public void run() {
+				writeCsvLine();
+			}
+		}, seconds * 1000L, seconds * 1000L);
+	}
+
+	public void stop() {
+		if (csvTimer != null) {
+			csvTimer.cancel();
+			writeCsvLine();
+			csv.close();
+			csvTimer = null;
+		}
+	}
+
+	private synchronized void writeCsvLine() {
+		long[] counts = {ticks, frames, frameSkipLimitHits, droppedTicks, contentsLost};
+		StringBuilder line = new StringBuilder();
+		line.append(String.format(Locale.ROOT, "%.3f", (System.nanoTime() - startTime) / 1000000000.0));
+		for (int i = 0; i < counts.length; i++) {
+			line.append(',').append(counts[i] - lastCounts[i]);
+			lastCounts[i] = counts[i];
+		}
+		for (LatencyHistogram histogram : intervals) {
+			line.append(',').append(micros(histogram.getPercentile(50.0)));
+			line.append(',').append(micros(histogram.getPercentile(99.0)));
+			line.append(',').append(micros(histogram.getMax()));
+			histogram.reset();
+		}
+		csv.println(line);
+		csv.flush();
+	}
+
+	private static double micros(long nanos) {
+		return nanos / 1000.0;
+	}
+
+	@Override
+	public long getTicks() {
+		return ticks;
+	}
+
+	@Override
+	public long getFrames() {
+		return frames;
+	}
+
+	@Override
+	public long getFrameSkipLimitHits() {
+		return frameSkipLimitHits;
+	}
+
+	@Override
+	public long getDroppedTicks() {
+		return droppedTicks;
+	}
+
+	@Override
+	public long getContentsLost() {
+		return contentsLost;
+	}
+
+	@Override
+	public double getUpdateP50() {
+		return micros(totals[UPDATE].getPercentile(50.0));
+	}
+
+	@Override
+	public double getUpdateP99() {
+		return micros(totals[UPDATE].getPercentile(99.0));
+	}
+
+	@Override
+	public double getUpdateMax() {
+		return micros(totals[UPDATE].getMax());
+	}
+
+	@Override
+	public double getBulletCollisionsP50() {
+		return micros(totals[BULLET_COLLISIONS].getPercentile(50.0));
+	}
+
+	@Override
+	public double getBulletCollisionsP99() {
+		return micros(totals[BULLET_COLLISIONS].getPercentile(99.0));
+	}
+
+	@Override
+	public double getBulletCollisionsMax() {
+		return micros(totals[BULLET_COLLISIONS].getMax());
+	}
+
+	@Override
+	public double getPlayerCollisionsP50() {
+		return micros(totals[PLAYER_COLLISIONS].getPercentile(50.0));
+	}
+
+	@Override
+	public double getPlayerCollisionsP99() {
+		return micros(totals[PLAYER_COLLISIONS].getPercentile(99.0));
+	}
+
+	@Override
+	public double getPlayerCollisionsMax() {
+		return micros(totals[PLAYER_COLLISIONS].getMax());
+	}
+
+	@Override
+	public double getBufferP50() {
+		return micros(totals[BUFFER].getPercentile(50.0));
+	}
+
+	@Override
+	public double getBufferP99() {
+		return micros(totals[BUFFER].getPercentile(99.0));
+	}
+
+	@Override
+	public double getBufferMax() {
+		return micros(totals[BUFFER].getMax());
+	}
+
+	@Override
+	public double getShowP50() {
+		return micros(totals[SHOW].getPercentile(50.0));
+	}
+
+	@Override
+	public double getShowP99() {
+		return micros(totals[SHOW].getPercentile(99.0));
+	}
+
+	@Override
+	public double getShowMax() {
+		return micros(totals[SHOW].getMax());
+	}
+
+	@Override
+	public double getSnapshotP50() {
+		return micros(totals[SNAPSHOT].getPercentile(50.0));
+	}
+
+	@Override
+	public double getSnapshotP99() {
+		return micros(totals[SNAPSHOT].getPercentile(99.0));
+	}
+
+	@Override
+	public double getSnapshotMax() {
+		return micros(totals[SNAPSHOT].getMax());
+	}
+
+	@Override
+	public void reset() {
+		for (LatencyHistogram histogram : totals) {
+			histogram.reset();
+		}
+		ticks = frames = 0L;
+		frameSkipLimitHits = droppedTicks = 0L;
+		contentsLost = 0L;
+		synchronized (this) {
+			Arrays.fill(lastCounts, 0L);
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package asteroids;
+
+/* The management interface of FrameStats. Durations are in microseconds and
+ * cover everything recorded since the game started or the last reset(). */
+
+public interface FrameStatsMBean {
+
+	long getTicks();
+
+	long getFrames();
+
+	long getFrameSkipLimitHits();
+
+	long getDroppedTicks();
+
+	long getContentsLost();
+
+	double getUpdateP50();
+
+	double getUpdateP99();
+
+	double getUpdateMax();
+
+	double getBulletCollisionsP50();
+
+	double getBulletCollisionsP99();
+
+	double getBulletCollisionsMax();
+
+	double getPlayerCollisionsP50();
+
+	double getPlayerCollisionsP99();
+
+	double getPlayerCollisionsMax();
+
+	double getBufferP50();
+
+	double getBufferP99();
+
+	double getBufferMax();
+
+	double getShowP50();
+
+	double getShowP99();
+
+	double getShowMax();
+
+	double getSnapshotP50();
+
+	double getSnapshotP99();
+
+	double getSnapshotMax();
+
+	void reset();
+
+}
@@ -0,0 +1,163 @@
+package asteroids;
+
+import java.awt.*;
+import java.io.IOException;
+import java.net.PortUnreachableException;
+import java.net.SocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/* The GameClient is the player's side of a GameServer connection. */
+
+public class GameClient {
+
+	private final DatagramChannel channel;
+	private final ByteBuffer in, out;
+	private final WorldState[] states;
+	private WorldState latest;
+	// decoded into before it replaces a state in the history
+	private WorldState incoming;
+	private int own;
+	private long received, bytesReceived, skipped;
+	private int width, height;
+	private Renderer renderer;
+	private FrameSnapshot snapshot;
+	private Player scratch;
+
+	/* Connects to the server at the given address, with a field of the given
+	 * size to draw into. */
+	public GameClient(SocketAddress server, int width, int height) throws IOException {
+		channel = DatagramChannel.open();
+		channel.configureBlocking(false);
+		channel.connect(server);
+		in = ByteBuffer.allocate(GameServer.MAX_PACKET);
+		out = ByteBuffer.allocate(6);
+		states = new WorldState[GameServer.HISTORY];
+		own = -1;
+		this.width = width;
+		this.height = height;
+	}
+
+	/* Sends the given keys, as a combination of InputLog's KEY_ flags. */
+	public void sendInput(int keys) throws IOException {
+		sendPacket(GameServer.INPUT, keys);
+	}
+
+	/* Tells the server that the player left and closes the connection. */
+	public void leave() throws IOException {
+		sendPacket(GameServer.LEAVE, 0);
+		channel.close();
+	}
+
+	private void sendPacket(byte type, int keys) throws IOException {
+		out.clear();
+		out.put(type);
+		out.putInt(latest != null ? latest.sequence : -1);
+		out.put((byte)keys);
+		out.flip();
+		channel.write(out);
+	}
+
+	/* Reads and decodes every snapshot that has arrived. */
+	public void poll() throws IOException {
+		while (true) {
+			in.clear();
+			try {
+				if (channel.read(in) <= 0) {
+					return;
+				}
+			} catch (PortUnreachableException e) {
+				// the server is not up (yet)
+				return;
+			}
+			in.flip();
+			bytesReceived += in.remaining();
+			if (in.remaining() < 2 + 8 || in.get() != GameServer.SNAPSHOT) {
+				skipped++;
+				continue;
+			}
+			int ship = in.get();
+			int sequence = in.getInt(in.position());
+			int baseSequence = WorldState.peekBase(in);
+			if (sequence < 0 || baseSequence < -1 || baseSequence >= sequence) {
+				skipped++;
+				continue;
+			}
+			WorldState base = null;
+			if (baseSequence != -1) {
+				base = states[baseSequence % GameServer.HISTORY];
+				if (base == null || base.sequence != baseSequence) {
+					skipped++;
+					continue;
+				}
+			}
+			if (latest != null && sequence <= latest.sequence) {
+				// older than what we have
+				skipped++;
+				continue;
+			}
+			if (incoming == null) {
+				incoming = new WorldState();
+			}
+			try {
+				incoming.read(in, base);
+			} catch (IOException | BufferUnderflowException e) {
+				skipped++;
+				continue;
+			}
+			if (ship < -1 || ship >= incoming.shipCount) {
+				skipped++;
+				continue;
+			}
+			WorldState state = incoming;
+			incoming = states[sequence % GameServer.HISTORY];
+			states[sequence % GameServer.HISTORY] = state;
+			latest = state;
+			own = ship;
+			received++;
+		}
+	}
+
+	/* Fills in the given snapshot from the latest state received. */
+	public void capture(FrameSnapshot s) {
+		if (scratch == null) {
+			scratch = new Player();
+		}
+		if (latest != null) {
+			latest.copyTo(s, own, scratch);
+		} else {
+			s.clear();
+		}
+	}
+
+	/* Draws the latest state received, the same way a local game is drawn. */
+	public void buffer(Graphics2D g) {
+		if (renderer == null) {
+			renderer = new Renderer(width, height);
+			snapshot = new FrameSnapshot();
+		}
+		capture(snapshot);
+		renderer.render(g, snapshot);
+	}
+
+	/* Returns the latest state received, or null. */
+	public WorldState getLatest() {
+		return latest;
+	}
+
+	public long getReceived() {
+		return received;
+	}
+
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	/* Returns the number of snapshots that arrived out of order or malformed
+	 * and could not be used. */
+	public long getSkipped() {
+		return skipped;
+	}
+
+}
@@ -0,0 +1,372 @@
+package asteroids;
+
+/* GameConfig holds the options that the game is started with. They are parsed
+ * from the command line:
+ *     -headless [ticks] [width] [height]  run the simulation without a display
+ *     -tickrate <n>                       simulation ticks per second
+ *     -renderrate <n>|display             frames per second, or the display's
+ *                                         refresh rate
+ *     -window [width] [height]            play in a window of the given size
+ *                                         instead of fullscreen
+ *     -borderless                         play in a borderless window over
+ *                                         the whole screen instead of
+ *                                         exclusive fullscreen
+ *     -renderscale <percent>              draw at a percentage of the screen
+ *                                         resolution and stretch the frame
+ *                                         over the screen
+ *     -statscsv <file>                    append frame timing stats to a CSV file
+ *     -statsinterval <seconds>            seconds between lines of the CSV file
+ *     -parallelthreshold <n>              entity count from which entities are
+ *                                         moved in parallel, 0 for never
+ *     -seed <n>                           seed for every random choice
+ *     -record <file>                      record the control keys of each tick
+ *     -replay <file>                      replay a recording headless at
+ *                                         maximum speed
+ *     -pipelined                          simulate and render on separate
+ *                                         threads
+ *     -points shapes|raster|additive      draw particles as shapes, into a
+ *                                         pixel raster, or into a raster
+ *                                         with additive blending
+ *     -quality auto|<tier>                adapt the drawing detail to the
+ *                                         frame time, or fix it at a tier
+ *                                         from 0 (full) to 4 (lowest)
+ *     -bot                                let a bot play instead of the
+ *                                         keyboard
+ *     -tournament <games>                 play games with bots in parallel,
+ *                                         each for at most the headless
+ *                                         ticks, seeded from the seed on
+ *     -threads <n>                        threads for the tournament
+ *     -server [port]                      run a multiplayer server, for the
+ *                                         headless ticks if -headless is
+ *                                         given
+ *     -sendrate <n>                       snapshots per second the server
+ *                                         sends to each client
+ *     -loopback <clients>                 connect that many test clients
+ *                                         to the server
+ *     -load <file>                        start from a saved game
+ *     -checkpoint <file>                  save the game to a file every few
+ *                                         seconds */
+
+public class GameConfig {
+
+	public static final int DEFAULT_TICK_RATE = 144;
+	public static final int DISPLAY_RATE = 0;
+
+	private static final int DEFAULT_HEADLESS_TICKS = 100000;
+	private static final int DEFAULT_HEADLESS_WIDTH = 1920;
+	private static final int DEFAULT_HEADLESS_HEIGHT = 1080;
+	private static final int DEFAULT_STATS_INTERVAL = 5;
+	private static final int DEFAULT_WINDOW_WIDTH = 1280;
+	private static final int DEFAULT_WINDOW_HEIGHT = 720;
+
+	private boolean headless;
+	private int headlessTicks;
+	private int headlessWidth, headlessHeight;
+	private int tickRate;
+	private int renderRate;
+	private int displayMode;
+	private int windowWidth, windowHeight;
+	private int renderScale;
+	private String statsCsv;
+	private int statsInterval;
+	private int parallelThreshold;
+	private Long seed;
+	private String recordFile;
+	private String replayFile;
+	private boolean pipelined;
+	private int pointMode;
+	private int quality;
+	private boolean bot;
+	private int tournamentGames;
+	private int threads;
+	private boolean server;
+	private int port;
+	private int sendRate;
+	private int loopbackClients;
+	private String loadFile;
+	private String checkpointFile;
+
+	public GameConfig() {
+		headless = false;
+		headlessTicks = DEFAULT_HEADLESS_TICKS;
+		headlessWidth = DEFAULT_HEADLESS_WIDTH;
+		headlessHeight = DEFAULT_HEADLESS_HEIGHT;
+		tickRate = DEFAULT_TICK_RATE;
+		renderRate = DEFAULT_TICK_RATE;
+		displayMode = GameFrame.FULLSCREEN;
+		windowWidth = DEFAULT_WINDOW_WIDTH;
+		windowHeight = DEFAULT_WINDOW_HEIGHT;
+		renderScale = 100;
+		statsCsv = null;
+		statsInterval = DEFAULT_STATS_INTERVAL;
+		parallelThreshold = ParallelUpdater.DEFAULT_THRESHOLD;
+		seed = null;
+		recordFile = null;
+		replayFile = null;
+		pipelined = false;
+		pointMode = Renderer.POINTS_RASTER;
+		quality = QualityGovernor.AUTO;
+		bot = false;
+		tournamentGames = 0;
+		threads = Runtime.getRuntime().availableProcessors();
+		server = false;
+		port = GameServer.DEFAULT_PORT;
+		sendRate = GameServer.DEFAULT_SEND_RATE;
+		loopbackClients = 0;
+		loadFile = null;
+		checkpointFile = null;
+	}
+
+	public static GameConfig parse(String[] args) {
+		GameConfig config = new GameConfig();
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (arg.equals("-headless")) {
+				config.headless = true;
+				if (isNumber(args, i + 1)) {
+					config.headlessTicks = positive(arg, args[++i]);
+				}
+				if (isNumber(args, i + 1) && isNumber(args, i + 2)) {
+					config.headlessWidth = positive(arg, args[++i]);
+					config.headlessHeight = positive(arg, args[++i]);
+				}
+			} else if (arg.equals("-tickrate")) {
+				config.tickRate = positive(arg, value(args, ++i));
+			} else if (arg.equals("-renderrate")) {
+				String rate = value(args, ++i);
+				if (rate.equals("display")) {
+					config.renderRate = DISPLAY_RATE;
+				} else {
+					config.renderRate = positive(arg, rate);
+				}
+			} else if (arg.equals("-window")) {
+				config.displayMode = GameFrame.WINDOWED;
+				if (isNumber(args, i + 1) && isNumber(args, i + 2)) {
+					config.windowWidth = positive(arg, args[++i]);
+					config.windowHeight = positive(arg, args[++i]);
+				}
+			} else if (arg.equals("-borderless")) {
+				config.displayMode = GameFrame.BORDERLESS;
+			} else if (arg.equals("-renderscale")) {
+				config.renderScale = positive(arg, value(args, ++i));
+			} else if (arg.equals("-statscsv")) {
+				config.statsCsv = value(args, ++i);
+			} else if (arg.equals("-statsinterval")) {
+				config.statsInterval = positive(arg, value(args, ++i));
+			} else if (arg.equals("-parallelthreshold")) {
+				String threshold = value(args, ++i);
+				config.parallelThreshold = threshold.equals("0") ? 0 : positive(arg, threshold);
+			} else if (arg.equals("-seed")) {
+				String seed = value(args, ++i);
+				try {
+					config.seed = Long.parseLong(seed);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Expected a number for " + arg + ": " + seed);
+				}
+			} else if (arg.equals("-record")) {
+				config.recordFile = value(args, ++i);
+			} else if (arg.equals("-replay")) {
+				config.replayFile = value(args, ++i);
+				config.headless = true;
+			} else if (arg.equals("-pipelined")) {
+				config.pipelined = true;
+			} else if (arg.equals("-points")) {
+				String mode = value(args, ++i);
+				if (mode.equals("shapes")) {
+					config.pointMode = Renderer.POINTS_SHAPES;
+				} else if (mode.equals("raster")) {
+					config.pointMode = Renderer.POINTS_RASTER;
+				} else if (mode.equals("additive")) {
+					config.pointMode = Renderer.POINTS_ADDITIVE;
+				} else {
+					throw new IllegalArgumentException("Expected shapes, raster or additive for " + arg + ": " + mode);
+				}
+			} else if (arg.equals("-quality")) {
+				String tier = value(args, ++i);
+				if (tier.equals("auto")) {
+					config.quality = QualityGovernor.AUTO;
+				} else if (tier.matches("\\d") && Integer.parseInt(tier) < QualityGovernor.TIERS.length) {
+					config.quality = Integer.parseInt(tier);
+				} else {
+					throw new IllegalArgumentException("Expected auto or a tier from 0 to "
+							+ (QualityGovernor.TIERS.length - 1) + " for " + arg + ": " + tier);
+				}
+			} else if (arg.equals("-bot")) {
+				config.bot = true;
+			} else if (arg.equals("-tournament")) {
+				config.tournamentGames = positive(arg, value(args, ++i));
+				config.headless = true;
+			} else if (arg.equals("-threads")) {
+				config.threads = positive(arg, value(args, ++i));
+			} else if (arg.equals("-server")) {
+				config.server = true;
+				if (isNumber(args, i + 1)) {
+					config.port = positive(arg, args[++i]);
+					if (config.port > 65535) {
+						throw new IllegalArgumentException("Expected a port up to 65535 for " + arg + ": " + config.port);
+					}
+				}
+			} else if (arg.equals("-sendrate")) {
+				config.sendRate = positive(arg, value(args, ++i));
+			} else if (arg.equals("-loopback")) {
+				config.loopbackClients = positive(arg, value(args, ++i));
+			} else if (arg.equals("-load")) {
+				config.loadFile = value(args, ++i);
+			} else if (arg.equals("-checkpoint")) {
+				config.checkpointFile = value(args, ++i);
+			} else {
+				throw new IllegalArgumentException("Unknown option: " + arg);
+			}
+		}
+		return config;
+	}
+
+	private static boolean isNumber(String[] args, int i) {
+		return (i < args.length && args[i].matches("\\d+"));
+	}
+
+	private static String value(String[] args, int i) {
+		if (i >= args.length) {
+			throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+		}
+		return args[i];
+	}
+
+	private static int positive(String option, String value) {
+		int n;
+		try {
+			n = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			n = 0;
+		}
+		if (n <= 0) {
+			throw new IllegalArgumentException("Expected a positive number for " + option + ": " + value);
+		}
+		return n;
+	}
+
+	public boolean isHeadless() {
+		return headless;
+	}
+
+	public int getHeadlessTicks() {
+		return headlessTicks;
+	}
+
+	public int getHeadlessWidth() {
+		return headlessWidth;
+	}
+
+	public int getHeadlessHeight() {
+		return headlessHeight;
+	}
+
+	public int getTickRate() {
+		return tickRate;
+	}
+
+	/* Returns the render rate, which is DISPLAY_RATE when the display's refresh
+	 * rate should be used. */
+	public int getRenderRate() {
+		return renderRate;
+	}
+
+	/* Returns how the game is shown, one of GameFrame's FULLSCREEN,
+	 * BORDERLESS or WINDOWED. */
+	public int getDisplayMode() {
+		return displayMode;
+	}
+
+	public int getWindowWidth() {
+		return windowWidth;
+	}
+
+	public int getWindowHeight() {
+		return windowHeight;
+	}
+
+	/* Returns the percentage of the screen resolution to draw at. */
+	public int getRenderScale() {
+		return renderScale;
+	}
+
+	/* Returns the CSV file to write frame stats to, or null if none. */
+	public String getStatsCsv() {
+		return statsCsv;
+	}
+
+	public int getStatsInterval() {
+		return statsInterval;
+	}
+
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/* Returns the seed to play with, or null for a random seed. */
+	public Long getSeed() {
+		return seed;
+	}
+
+	public String getRecordFile() {
+		return recordFile;
+	}
+
+	public String getReplayFile() {
+		return replayFile;
+	}
+
+	public boolean isPipelined() {
+		return pipelined;
+	}
+
+	/* Returns how particles are drawn, one of the Renderer's
+	 * POINTS_ modes. */
+	public int getPointMode() {
+		return pointMode;
+	}
+
+	/* Returns the QualityGovernor tier to draw at, or QualityGovernor.AUTO
+	 * to adapt it to the frame time. */
+	public int getQuality() {
+		return quality;
+	}
+
+	public boolean isBot() {
+		return bot;
+	}
+
+	/* Returns the number of games to play in a tournament, or 0 if none. */
+	public int getTournamentGames() {
+		return tournamentGames;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public boolean isServer() {
+		return server;
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public int getSendRate() {
+		return sendRate;
+	}
+
+	public int getLoopbackClients() {
+		return loopbackClients;
+	}
+
+	public String getLoadFile() {
+		return loadFile;
+	}
+
+	public String getCheckpointFile() {
+		return checkpointFile;
+	}
+
+}
@@ -0,0 +1,112 @@
+package asteroids;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.*;
+
+/* GameFrame extends JFrame and shows the game in exclusive fullscreen, in a
+ * borderless window or in a window of a given size. */
+
+public class GameFrame extends JFrame {
+
+	public static final int FULLSCREEN = 0;
+	public static final int BORDERLESS = 1;
+	public static final int WINDOWED = 2;
+
+	private static final int NUM_BUFFERS = 2;
+
+	private GameLogic game;
+	private GraphicsDevice gd;
+	private BufferStrategy bufferStrat;
+	private int width, height;
+
+	public GameFrame(GameConfig config) {
+		GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+		gd = ge.getDefaultScreenDevice();
+		int mode = config.getDisplayMode();
+		if (mode == FULLSCREEN && !gd.isFullScreenSupported()) {
+			System.out.println("Warning: fullscreen not supported, using a borderless window.");
+			mode = BORDERLESS;
+		}
+		if (mode == FULLSCREEN) {
+			initFullscreen();
+		} else if (mode == BORDERLESS) {
+			Rectangle bounds = gd.getDefaultConfiguration().getBounds();
+			initWindow(bounds.width, bounds.height, true);
+			setLocation(bounds.x, bounds.y);
+		} else {
+			initWindow(config.getWindowWidth(), config.getWindowHeight(), false);
+			setLocationRelativeTo(null);
+		}
+		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		game = new GameLogic(this, bufferStrat, width, height);
+		game.setRenderScale(config.getRenderScale() / 100.0f);
+		game.setTickRate(config.getTickRate());
+		game.setParallelThreshold(config.getParallelThreshold());
+		if (config.getSeed() != null) {
+			game.setSeed(config.getSeed());
+		}
+		game.setRecordFile(config.getRecordFile());
+		game.setLoadFile(config.getLoadFile());
+		game.setCheckpointFile(config.getCheckpointFile());
+		if (config.isBot()) {
+			game.setBot(new AimBot());
+		}
+		game.setPipelined(config.isPipelined());
+		game.setPointMode(config.getPointMode());
+		game.setQuality(config.getQuality());
+		if (config.getRenderRate() == GameConfig.DISPLAY_RATE) {
+			game.setRenderRate(getDisplayRate(config.getTickRate()));
+		} else {
+			game.setRenderRate(config.getRenderRate());
+		}
+		if (config.getStatsCsv() != null) {
+			game.getStats().startCsv(config.getStatsCsv(), config.getStatsInterval());
+		}
+		addKeyListener(game);
+		setVisible(true);
+		game.startGame();
+	}
+
+	private void initFullscreen() {
+		setUndecorated(true);
+		setIgnoreRepaint(true);
+		setResizable(false);
+		gd.setFullScreenWindow(this);
+		width = getBounds().width;
+		height = getBounds().height;
+		createBufferStrategy(NUM_BUFFERS);
+		bufferStrat = getBufferStrategy();
+	}
+
+	/* Sizes the frame around a canvas of the given size, which the game is
+	 * drawn on. */
+	private void initWindow(int w, int h, boolean borderless) {
+		width = w;
+		height = h;
+		setUndecorated(borderless);
+		setIgnoreRepaint(true);
+		setResizable(false);
+		Canvas canvas = new Canvas();
+		canvas.setPreferredSize(new Dimension(w, h));
+		canvas.setIgnoreRepaint(true);
+		// the keys go to the frame
+		canvas.setFocusable(false);
+		add(canvas);
+		pack();
+		canvas.createBufferStrategy(NUM_BUFFERS);
+		bufferStrat = canvas.getBufferStrategy();
+	}
+
+	/* Returns the refresh rate of the display, or the given fallback rate if
+	 * the display does not report one. */
+	private int getDisplayRate(int fallback) {
+		int rate = gd.getDisplayMode().getRefreshRate();
+		if (rate == DisplayMode.REFRESH_RATE_UNKNOWN) {
+			System.out.println("Warning: display refresh rate unknown, using " + fallback + " fps.");
+			return fallback;
+		}
+		return rate;
+	}
+
+}
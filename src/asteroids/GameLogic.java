@@ -0,0 +1,1045 @@
+package asteroids;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferStrategy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/* This is where all the magic happens. */
+
+public class GameLogic extends KeyAdapter implements Runnable {
+
+	private final int MAX_DRAWS_WITHOUT_SLEEP = 16;
+	private final int MAX_FRAME_SKIPS = 12;
+
+	private volatile boolean running;
+	private int tickRate;
+	private long tickPeriodNs;
+	private double tickPeriod;
+	private int renderRate;
+	private float interpolation;
+	private boolean pipelined;
+	private boolean firstFrameShown;
+
+	private int width;
+	private int height;
+	private JFrame parent;
+	private BufferStrategy bufferStrat;
+	private Thread gameThread;
+	private Renderer renderer;
+	private FrameSnapshot snapshot;
+	private TripleBuffer<FrameSnapshot> snapshots;
+	private GameSounds sounds;
+	private FrameStats stats;
+
+	// game variables
+	private final double BULLET_DELAY = 0.2;
+	private final int LEVEL_OFFSET = 3;
+	private final int START_LIVES = 5;
+	private final int EXPLOSION_PARTICLES = 64;
+	private final int MAX_PARTICLES = 32768;
+	private final int CHECKPOINT_SECONDS = 5;
+	private int score;
+	private int lives;
+	private int level;
+	private volatile boolean leftPressed, rightPressed, upPressed, downPressed, spacePressed;
+	private boolean gamePaused, gameOver;
+	private Player player;
+	// every ship, the local player first, and the bots steering the others
+	private EntityList<Player> ships;
+	private EntityList<Bot> shipInputs;
+	private EntityStore<Bullet> bullets;
+	private EntityStore<Asteroid> asteroids;
+	private EntityPool<Bullet> bulletPool;
+	private EntityPool<Asteroid> asteroidPool;
+	private int asteroidSlots;
+	private ParticleSystem particles;
+	private float[] starXOffsets, starYOffsets;
+	private SpatialGrid grid;
+	private ParallelUpdater updater;
+	private long seed;
+	private GameRandom random;
+	private String recordFile;
+	private InputLog recording;
+	private InputLog replay;
+	private Bot bot;
+	private boolean localPlayer;
+	private String loadFile;
+	private String checkpointFile;
+	private SaveState checkpoint;
+	private int quality;
+	private QualityGovernor governor;
+	private ScaledBuffer scaledBuffer;
+	private int checkpointTicks;
+
+	public GameLogic(JFrame par, BufferStrategy buff, int w, int h) {
+		this(w, h);
+		parent = par;
+		bufferStrat = buff;
+		renderer = new Renderer(w, h);
+	}
+
+	/* Creates a headless game without a window, buffer or sounds, which can
+	 * only be stepped through simulate() or play(), or drawn with buffer().
+	 * The renderer is only created once it is needed. */
+	public GameLogic(int w, int h) {
+		width = w;
+		height = h;
+		quality = QualityGovernor.AUTO;
+		snapshot = new FrameSnapshot();
+		stats = new FrameStats();
+		updater = new ParallelUpdater(ParallelUpdater.DEFAULT_THRESHOLD);
+		seed = System.nanoTime();
+		localPlayer = true;
+		running = false;
+		interpolation = 1.0f;
+		setTickRate(GameConfig.DEFAULT_TICK_RATE);
+		setRenderRate(GameConfig.DEFAULT_TICK_RATE);
+	}
+
+	/* Sets the number of simulation ticks per second. Each tick advances the
+	 * simulation by the same fixed period. */
+	public void setTickRate(int rate) {
+		tickRate = rate;
+		tickPeriodNs = 1000000000L / rate;
+		tickPeriod = 1.0 / rate;
+	}
+
+	/* Sets the number of frames drawn per second, independent of the tick
+	 * rate. */
+	public void setRenderRate(int rate) {
+		renderRate = rate;
+	}
+
+	/* Runs the simulation and the rendering on separate threads when true.
+	 * The simulation thread hands snapshots of the field to the render thread
+	 * after every tick, which draws the latest one it got. Frames are then not
+	 * interpolated between ticks. Must be called before the game is started. */
+	public void setPipelined(boolean pipelined) {
+		this.pipelined = pipelined;
+	}
+
+	/* Sets how particles are drawn, one of the Renderer's POINTS_ modes. */
+	public void setPointMode(int mode) {
+		getRenderer().setPointMode(mode);
+	}
+
+	/* Draws the field into an offscreen buffer at the given scale of the
+	 * screen's resolution, which is stretched over the screen, when the scale
+	 * is not 1. Must be called before the game is started. */
+	public void setRenderScale(float scale) {
+		getRenderer().setScale(scale);
+		if (scale != 1.0f) {
+			scaledBuffer = new ScaledBuffer(renderer.getScaledWidth(), renderer.getScaledHeight());
+		} else {
+			scaledBuffer = null;
+		}
+	}
+
+	/* Fixes how much detail is drawn at one of the QualityGovernor's tiers,
+	 * or lets a QualityGovernor lower it while frames take too long to draw
+	 * if it is QualityGovernor.AUTO. */
+	public void setQuality(int tier) {
+		quality = tier;
+		if (tier != QualityGovernor.AUTO) {
+			getRenderer().setQuality(tier);
+		}
+	}
+
+	/* Sets the seed of the generator that every random choice in the game is
+	 * made with. Must be called before the game is started. */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/* Records the control keys of every tick to the given file, which is
+	 * written when the game ends. */
+	public void setRecordFile(String file) {
+		recordFile = file;
+	}
+
+	/* Plays the game with the control keys from the given log instead of the
+	 * keyboard, using the seed and tick rate it was recorded with. */
+	public void setReplay(InputLog log) {
+		replay = log;
+		setSeed(log.getSeed());
+		setTickRate(log.getTickRate());
+	}
+
+	/* Starts the game from the state saved in the given file instead of a new
+	 * game. */
+	public void setLoadFile(String file) {
+		loadFile = file;
+	}
+
+	/* Saves the state of the game to the given file every few seconds of game
+	 * time, through a memory mapping. */
+	public void setCheckpointFile(String file) {
+		checkpointFile = file;
+	}
+
+	/* Leaves the local player out of the game when false, for a server whose
+	 * ships are all added with addPlayer(). Must be called before the game is
+	 * started. */
+	public void setLocalPlayer(boolean localPlayer) {
+		this.localPlayer = localPlayer;
+	}
+
+	/* Lets the given bot press the control keys instead of the keyboard. */
+	public void setBot(Bot bot) {
+		this.bot = bot;
+	}
+
+	/* Sets the number of asteroids or particles from which they are
+	 * moved in parallel, or 0 to always move them on the game thread. */
+	public void setParallelThreshold(int threshold) {
+		updater = new ParallelUpdater(threshold);
+	}
+
+	public void startGame() {
+		if (!running || gameThread == null) {
+			gameThread = new Thread(this);
+		}
+		stats.register();
+		if (quality == QualityGovernor.AUTO) {
+			governor = new QualityGovernor(1000000000L / renderRate);
+		}
+		createWorld();
+		// the sounds load in the background while the game starts
+		sounds = new GameSounds();
+		resetGame();
+		loadSavedGame();
+		playSound(GameSounds.SOUND_MUSIC, true);
+		gameThread.start();
+	}
+
+	/* Steps the simulation for the given number of ticks as fast as possible,
+	 * without rendering, sounds or sleeping, and returns the ticks per second
+	 * that were achieved. */
+	public double simulate(int ticks) {
+		newGame();
+		long startTime = System.nanoTime();
+		for (int i = 0; i < ticks; i++) {
+			update();
+		}
+		long elapsed = System.nanoTime() - startTime;
+		saveRecording();
+		return ticks / (elapsed / 1000000000.0);
+	}
+
+	/* Starts a new game and steps it as fast as possible until it is over or
+	 * the given number of ticks have passed, and returns the number of ticks
+	 * it ran for. */
+	public int play(int maxTicks) {
+		newGame();
+		int ticks = 0;
+		while (!gameOver && ticks < maxTicks) {
+			update();
+			ticks++;
+		}
+		saveRecording();
+		return ticks;
+	}
+
+	public FrameStats getStats() {
+		return stats;
+	}
+
+	/* Starts a new game without starting the game thread. */
+	void newGame() {
+		createWorld();
+		resetGame();
+		loadSavedGame();
+	}
+
+	private void loadSavedGame() {
+		if (loadFile != null) {
+			try {
+				SaveState.load(this, SaveState.read(loadFile, true));
+			} catch (IOException e) {
+				System.out.println("Error: could not load " + loadFile + ": " + e.getMessage());
+				System.exit(1);
+			}
+		}
+	}
+
+	/* Writes the complete state of the game to the buffer, see SaveState. */
+	void saveState(ByteBuffer out) {
+		out.putInt(width);
+		out.putInt(height);
+		out.putLong(seed);
+		out.putLong(random.getState());
+		out.putInt(score);
+		out.putInt(lives);
+		out.putInt(level);
+		out.put((byte)(gamePaused ? 1 : 0));
+		out.put((byte)(gameOver ? 1 : 0));
+		for (int i = 0; i < Starfield.LAYERS; i++) {
+			out.putFloat(starXOffsets[i]);
+			out.putFloat(starYOffsets[i]);
+		}
+		out.putInt(ships.size());
+		for (Player ship : ships) {
+			ship.save(out);
+		}
+		out.putInt(bullets.size());
+		for (Bullet bullet : bullets) {
+			bullet.save(out);
+		}
+		out.putInt(asteroids.size());
+		for (Asteroid asteroid : asteroids) {
+			asteroid.save(out);
+		}
+		particles.save(out);
+	}
+
+	/* Reads a state written by saveState(). The game must have been started,
+	 * with the same field size and number of ships. The whole state is
+	 * checked before anything is changed, so a bad state leaves the game as
+	 * it was. */
+	void loadState(ByteBuffer in) throws IOException {
+		checkState(in.duplicate().order(in.order()));
+		in.position(in.position() + 2 * 4);
+		seed = in.getLong();
+		random.setState(in.getLong());
+		score = in.getInt();
+		lives = in.getInt();
+		level = in.getInt();
+		gamePaused = (in.get() != 0);
+		gameOver = (in.get() != 0);
+		for (int i = 0; i < Starfield.LAYERS; i++) {
+			starXOffsets[i] = in.getFloat();
+			starYOffsets[i] = in.getFloat();
+		}
+		in.getInt();
+		for (Player ship : ships) {
+			ship.load(in);
+		}
+		bulletPool.releaseAll(bullets);
+		int bulletCount = in.getInt();
+		for (int i = 0; i < bulletCount; i++) {
+			Bullet bullet = bulletPool.acquire();
+			bullet.load(in);
+			bullets.add(bullet);
+		}
+		clearAsteroids();
+		int asteroidCount = in.getInt();
+		for (int i = 0; i < asteroidCount; i++) {
+			Asteroid asteroid = asteroidPool.acquire();
+			asteroid.load(in);
+			asteroids.add(asteroid);
+		}
+		particles.load(in);
+	}
+
+	/* Walks a state written by saveState() and throws an IOException if it
+	 * cannot be loaded into this game. */
+	private void checkState(ByteBuffer in) throws IOException {
+		int savedWidth = in.getInt();
+		int savedHeight = in.getInt();
+		if (savedWidth != width || savedHeight != height) {
+			throw new IOException("Saved at " + savedWidth + "x" + savedHeight + ", not " + width + "x" + height);
+		}
+		in.position(in.position() + 2 * 8 + 3 * 4 + 2 + Starfield.LAYERS * 2 * 4);
+		int shipCount = in.getInt();
+		if (shipCount != ships.size()) {
+			throw new IOException("Saved with " + shipCount + " ships, not " + ships.size());
+		}
+		for (int i = 0; i < shipCount; i++) {
+			Player.check(in);
+		}
+		int bulletCount = in.getInt();
+		if (bulletCount < 0) {
+			throw new IOException("Negative bullet count");
+		}
+		for (int i = 0; i < bulletCount; i++) {
+			Bullet.check(in);
+		}
+		int asteroidCount = in.getInt();
+		if (asteroidCount < 0) {
+			throw new IOException("Negative asteroid count");
+		}
+		for (int i = 0; i < asteroidCount; i++) {
+			Asteroid.check(in);
+		}
+		particles.check(in);
+	}
+
+	int getScore() {
+		return score;
+	}
+
+	int getLevel() {
+		return level;
+	}
+
+	/* Adds the given numbers of large asteroids, bullets and explosion
+	 * particles at random positions on top of the current field, to load the
+	 * simulation in benchmarks. The particles never expire. */
+	void populate(int asteroidCount, int bulletCount, int particleCount) {
+		for (int i = 0; i < asteroidCount; i++) {
+			Asteroid asteroid = asteroidPool.acquire();
+			asteroid.reset(random);
+			asteroids.add(asteroid);
+		}
+		float direction = player.getDirection();
+		for (int i = 0; i < bulletCount; i++) {
+			Bullet bullet = bulletPool.acquire();
+			player.setDirection((float)random.nextDouble() * 360.0f);
+			bullet.reset(player);
+			bullet.setPosition((float)random.nextDouble() * width, (float)random.nextDouble() * height);
+			bullets.add(bullet);
+		}
+		player.setDirection(direction);
+		int colorIndex = particles.colorIndex(Asteroid.COLOR);
+		for (int i = 0; i < particleCount; i++) {
+			float xSpeed = (float)random.nextDouble() * 256.0f - 128.0f;
+			float ySpeed = (float)random.nextDouble() * 256.0f - 128.0f;
+			particles.spawn((float)random.nextDouble() * width, (float)random.nextDouble() * height,
+					xSpeed, ySpeed, Float.MAX_VALUE, colorIndex);
+		}
+	}
+
+	Player getPlayer() {
+		return player;
+	}
+
+	/* Adds another ship to the game, steered by the given bot, and returns it.
+	 * The ships share the score and the lives. Only the local player's keys
+	 * are recorded, so games with other ships cannot be replayed. Must be
+	 * called on the game thread once the game has started. */
+	Player addPlayer(Bot input) {
+		Player ship = new Player();
+		ships.add(ship);
+		shipInputs.add(input);
+		resetShip(ship);
+		ship.setBulletTime(BULLET_DELAY);
+		return ship;
+	}
+
+	/* Removes a ship added with addPlayer(). */
+	void removePlayer(Player ship) {
+		for (int i = 0; i < ships.size(); i++) {
+			if (ships.get(i) == ship) {
+				ships.remove(i);
+				shipInputs.remove(i);
+				return;
+			}
+		}
+	}
+
+	EntityList<Player> getShips() {
+		return ships;
+	}
+
+	EntityList<Bullet> getBullets() {
+		return bullets;
+	}
+
+	boolean isGameOver() {
+		return gameOver;
+	}
+
+	int getLives() {
+		return lives;
+	}
+
+	int getTickRate() {
+		return tickRate;
+	}
+
+	EntityStore<Asteroid> getAsteroids() {
+		return asteroids;
+	}
+
+	int getWidth() {
+		return width;
+	}
+
+	int getHeight() {
+		return height;
+	}
+
+	private void createWorld() {
+		Entity.setWrapDimension(width, height);
+		leftPressed = rightPressed = upPressed = downPressed = spacePressed = false;
+		random = new GameRandom(seed);
+		if (recordFile != null) {
+			recording = new InputLog(seed, tickRate, width, height);
+		}
+		player = new Player();
+		ships = new EntityList<>();
+		shipInputs = new EntityList<>();
+		if (localPlayer) {
+			ships.add(player);
+			shipInputs.add(null);
+		}
+		bullets = new EntityStore<>();
+		asteroids = new EntityStore<>();
+		bulletPool = new EntityPool<>(Bullet::new);
+		// pooled asteroids are never dropped, so their slots stay dense
+		asteroidSlots = 0;
+		asteroidPool = new EntityPool<>(() -> new Asteroid(asteroidSlots++));
+		particles = new ParticleSystem(MAX_PARTICLES);
+		starXOffsets = new float[Starfield.LAYERS];
+		starYOffsets = new float[Starfield.LAYERS];
+		grid = new SpatialGrid(Asteroid.LARGE, width, height);
+	}
+
+	private void resetPlayer() {
+		if (ships != null) {
+			for (Player ship : ships) {
+				resetShip(ship);
+			}
+		}
+	}
+
+	private void resetShip(Player ship) {
+		ship.setPosition(width / 2, height / 2);
+		ship.setDirection(0.0f);
+		ship.setSpeed(0.0f, 0.0f);
+		ship.activateShield();
+	}
+
+	private void resetGame() {
+		gamePaused = false;
+		gameOver = false;
+		resetPlayer();
+		bulletPool.releaseAll(bullets);
+		clearAsteroids();
+		particles.clear();
+		level = 1;
+		lives = START_LIVES;
+		score = 0;
+		for (Player ship : ships) {
+			ship.setBulletTime(BULLET_DELAY);
+		}
+		populateAsteroids();
+	}
+
+	private void populateAsteroids() {
+		clearAsteroids();
+		for (int i = 0; i < level + LEVEL_OFFSET; i++) {
+			Asteroid asteroid = asteroidPool.acquire();
+			asteroid.reset(random);
+			asteroids.add(asteroid);
+		}
+	}
+
+	private void clearAsteroids() {
+		asteroidPool.releaseAll(asteroids);
+	}
+
+	private void createExplosion(float x, float y, Color color) {
+		int colorIndex = particles.colorIndex(color);
+		for (int i = 0; i < EXPLOSION_PARTICLES; i++) {
+			float lifeTime = (float)(random.nextDouble() * 1.0);
+			float xSpeed = (float)random.nextDouble() * 256.0f - 128.0f;
+			float ySpeed = (float)random.nextDouble() * 256.0f - 128.0f;
+			particles.spawn(x, y, xSpeed, ySpeed, lifeTime, colorIndex);
+		}
+	}
+
+	private void playSound(int sound, boolean loop) {
+		if (sounds != null) {
+			sounds.playSound(sound, loop);
+		}
+	}
+
+	public void stopGame() {
+		if (sounds != null) {
+			sounds.stop();
+		}
+		stats.stop();
+		running = false;
+	}
+
+	/* The game loop runs the simulation at a fixed tick rate with an
+	 * accumulator and draws frames at the render rate, interpolating entity
+	 * positions between the last two ticks. When the loop falls behind, at most
+	 * MAX_FRAME_SKIPS extra ticks are run before the next frame and the rest of
+	 * the missed time is dropped. */
+	@Override
+	public void run() {
+		running = true;
+		if (pipelined) {
+			runPipelined();
+			return;
+		}
+		LoopTimer timer = new LoopTimer();
+		long frameNs = 1000000000L / renderRate;
+		int maxTicks = (int)((frameNs + tickPeriodNs - 1) / tickPeriodNs) + MAX_FRAME_SKIPS;
+		long previousTime = System.nanoTime();
+		long nextFrame = previousTime;
+		long accumulator = 0L;
+		int drawsWithoutSleep = 0;
+		while (running) {
+			long now = System.nanoTime();
+			accumulator += now - previousTime;
+			previousTime = now;
+			int ticks = 0;
+			while (accumulator >= tickPeriodNs && ticks < maxTicks) {
+				update();
+				accumulator -= tickPeriodNs;
+				ticks++;
+			}
+			if (accumulator >= tickPeriodNs) {
+				stats.countFrameSkipLimitHit(accumulator / tickPeriodNs);
+				accumulator %= tickPeriodNs;
+			}
+			draw((float)accumulator / tickPeriodNs);
+			nextFrame += frameNs;
+			long afterTime = System.nanoTime();
+			if (nextFrame - afterTime > 0L) {
+				timer.waitUntil(nextFrame);
+			} else {
+				// too far behind to wait, and missed frames are not caught up on
+				nextFrame = afterTime;
+				drawsWithoutSleep++;
+				if (drawsWithoutSleep >= MAX_DRAWS_WITHOUT_SLEEP) {
+					drawsWithoutSleep = 0;
+					Thread.yield();
+				}
+			}
+		}
+		saveRecording();
+		System.exit(0);
+	}
+
+	/* The pipelined loop runs the simulation on this thread at the fixed tick
+	 * rate and publishes a snapshot after every tick, while a render thread
+	 * draws the latest snapshot at the render rate. A slow frame therefore
+	 * never delays a tick. When the simulation falls more than MAX_FRAME_SKIPS
+	 * ticks behind, the rest of the missed time is dropped. */
+	private void runPipelined() {
+		snapshots = new TripleBuffer<>(new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot());
+		Entity.setInterpolation(1.0f);
+		interpolation = 1.0f;
+		Thread renderThread = new Thread(this::renderLoop, "render");
+		renderThread.start();
+		LoopTimer timer = new LoopTimer();
+		long nextTick = System.nanoTime();
+		while (running) {
+			update();
+			long startTime = System.nanoTime();
+			FrameSnapshot s = snapshots.getBack();
+			capture(s);
+			snapshots.publish();
+			long now = System.nanoTime();
+			stats.record(FrameStats.SNAPSHOT, now - startTime);
+			nextTick += tickPeriodNs;
+			if (nextTick - now > 0L) {
+				timer.waitUntil(nextTick);
+			} else if (now - nextTick >= tickPeriodNs * MAX_FRAME_SKIPS) {
+				stats.countFrameSkipLimitHit((now - nextTick) / tickPeriodNs);
+				nextTick = now;
+			}
+		}
+		try {
+			renderThread.join();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+		saveRecording();
+		System.exit(0);
+	}
+
+	/* Draws the latest snapshot from the simulation thread at the render
+	 * rate, skipping frames when no new snapshot has been published. */
+	private void renderLoop() {
+		LoopTimer timer = new LoopTimer();
+		long frameNs = 1000000000L / renderRate;
+		long nextFrame = System.nanoTime();
+		while (running) {
+			if (snapshots.update()) {
+				render(snapshots.getFront());
+			}
+			nextFrame += frameNs;
+			long now = System.nanoTime();
+			if (nextFrame - now > 0L) {
+				timer.waitUntil(nextFrame);
+			} else {
+				nextFrame = now;
+				Thread.yield();
+			}
+		}
+	}
+
+	private void saveRecording() {
+		if (recording != null) {
+			recording.finish(score, level);
+			try {
+				recording.write(recordFile);
+			} catch (IOException e) {
+				System.out.println("Warning: could not write " + recordFile + ": " + e.getMessage());
+			}
+			recording = null;
+		}
+	}
+
+	/* Returns the control keys for this tick, taken from the replay or the bot
+	 * if there is one, and adds them to the recording if one is being made. */
+	private int nextKeys() {
+		int keys = 0;
+		if (replay != null) {
+			if (replay.hasNext()) {
+				keys = replay.next();
+			}
+		} else if (bot != null) {
+			keys = bot.nextKeys(this, player);
+		} else {
+			if (leftPressed) {
+				keys |= InputLog.KEY_LEFT;
+			}
+			if (rightPressed) {
+				keys |= InputLog.KEY_RIGHT;
+			}
+			if (upPressed) {
+				keys |= InputLog.KEY_UP;
+			}
+			if (downPressed) {
+				keys |= InputLog.KEY_DOWN;
+			}
+			if (spacePressed) {
+				keys |= InputLog.KEY_SPACE;
+			}
+		}
+		if (recording != null) {
+			recording.record(keys);
+		}
+		return keys;
+	}
+
+	void update() {
+		long startTime = System.nanoTime();
+		step();
+		stats.record(FrameStats.UPDATE, System.nanoTime() - startTime);
+		stats.countTick();
+		if (checkpointFile != null && --checkpointTicks <= 0) {
+			saveCheckpoint();
+		}
+	}
+
+	private void saveCheckpoint() {
+		checkpointTicks = CHECKPOINT_SECONDS * tickRate;
+		if (checkpoint == null) {
+			checkpoint = new SaveState();
+		}
+		try {
+			checkpoint.saveMapped(this, checkpointFile);
+		} catch (IOException e) {
+			System.out.println("Warning: could not save " + checkpointFile + ": " + e.getMessage());
+			checkpointFile = null;
+		}
+	}
+
+	private void step() {
+		int keys = nextKeys();
+		if (!gamePaused) {
+			updater.move(asteroids, tickPeriod);
+			updater.update(particles, tickPeriod);
+			moveStarfield();
+			if (!gameOver) {
+				for (Player ship : ships) {
+					ship.move(tickPeriod);
+					ship.decreaseTime(tickPeriod);
+				}
+				bullets.age(tickPeriod);
+				for (int i = 0; i < bullets.size(); i++) {
+					if (!bullets.get(i).hasTime()) {
+						bulletPool.release(bullets.remove(i));
+						i--;
+					}
+				}
+				updater.move(bullets, tickPeriod);
+				for (int i = 0; i < ships.size(); i++) {
+					steer(ships.get(i), shipKeys(i, keys));
+				}
+				long collisionTime = System.nanoTime();
+				checkBulletCollisions();
+				long playerTime = System.nanoTime();
+				stats.record(FrameStats.BULLET_COLLISIONS, playerTime - collisionTime);
+				checkPlayerCollisions();
+				stats.record(FrameStats.PLAYER_COLLISIONS, System.nanoTime() - playerTime);
+				// check for game over
+				if (lives <= 0) {
+					gameOver = true;
+					bulletPool.releaseAll(bullets);
+				}
+				if (!gameOver) {
+					// check for empty field
+					if (asteroids.size() == 0) {
+						level++;
+						populateAsteroids();
+						resetPlayer();
+						bulletPool.releaseAll(bullets);
+					}
+				}
+			} else {
+				// any ship can start a new game
+				for (int i = 0; i < ships.size(); i++) {
+					if ((shipKeys(i, keys) & InputLog.KEY_SPACE) != 0) {
+						resetGame();
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/* Returns the keys of the given ship, which are the local keys for the
+	 * local player. */
+	private int shipKeys(int ship, int localKeys) {
+		Bot input = shipInputs.get(ship);
+		return (input == null ? localKeys : input.nextKeys(this, ships.get(ship)));
+	}
+
+	/* Turns, accelerates and fires the given ship according to its keys. */
+	private void steer(Player ship, int keys) {
+		boolean space = (keys & InputLog.KEY_SPACE) != 0;
+		if ((keys & InputLog.KEY_LEFT) != 0) {
+			ship.turn(tickPeriod, Player.LEFT);
+		}
+		if ((keys & InputLog.KEY_RIGHT) != 0) {
+			ship.turn(tickPeriod, Player.RIGHT);
+		}
+		if ((keys & InputLog.KEY_UP) != 0) {
+			ship.accelerate(tickPeriod, Player.FORWARD);
+		}
+		if ((keys & InputLog.KEY_DOWN) != 0) {
+			ship.accelerate(tickPeriod, Player.BACKWARD);
+		}
+		double bulletTime = ship.getBulletTime();
+		if (bulletTime > 0.0) {
+			bulletTime -= tickPeriod;
+		}
+		if (space && bulletTime <= 0.0) {
+			Bullet bullet = bulletPool.acquire();
+			bullet.reset(ship);
+			bullets.add(bullet);
+			playSound(GameSounds.SOUND_LASER, false);
+			bulletTime = BULLET_DELAY;
+		} else if (!space) {
+			bulletTime = 0.0;
+		}
+		ship.setBulletTime(bulletTime);
+	}
+
+	/* Scrolls each starfield layer at its speed, keeping the offsets within
+	 * the screen so that they do not lose precision. */
+	private void moveStarfield() {
+		for (int i = 0; i < Starfield.LAYERS; i++) {
+			starXOffsets[i] = (starXOffsets[i] + Starfield.getXSpeed(i) * (float)tickPeriod) % width;
+			starYOffsets[i] = (starYOffsets[i] + Starfield.getYSpeed(i) * (float)tickPeriod) % height;
+		}
+	}
+
+	void checkBulletCollisions() {
+		grid.clear();
+		grid.insertAll(asteroids);
+		for (int i = 0; i < bullets.size(); i++) {
+			Bullet bullet = bullets.get(i);
+			Asteroid asteroid = sweepBullet(bullet);
+			if (asteroid != null) {
+				bulletPool.release(bullets.remove(i));
+				i--;
+				createExplosion(bullet.getX(), bullet.getY(), Bullet.COLOR);
+				createExplosion(asteroid.getX() + asteroid.getWidth() / 2,
+						asteroid.getY() + asteroid.getHeight() / 2, Asteroid.COLOR);
+				playSound(GameSounds.SOUND_ASTEROID, false);
+				score += (Asteroid.LARGE * 2) / asteroid.getSize();
+				destroyAsteroid(asteroid);
+			}
+		}
+	}
+
+	/* Returns the asteroid that the bullet hit first on its way from its
+	 * previous position to its current one, so that fast bullets cannot pass
+	 * through small asteroids between ticks. If the bullet wrapped around the
+	 * screen in between, the path is tested on both sides of the edge. The
+	 * asteroids are taken at their current positions. */
+	private Asteroid sweepBullet(Bullet bullet) {
+		float x = bullet.getX();
+		float y = bullet.getY();
+		float prevX = bullet.getPrevX();
+		float prevY = bullet.getPrevY();
+		if (Math.abs(x - prevX) <= width / 2 && Math.abs(y - prevY) <= height / 2) {
+			return grid.findSwept(prevX, prevY, x, y);
+		}
+		float dx = bullet.getXSpeed() * (float)tickPeriod;
+		float dy = bullet.getYSpeed() * (float)tickPeriod;
+		Asteroid asteroid = grid.findSwept(prevX, prevY, prevX + dx, prevY + dy);
+		if (asteroid == null) {
+			asteroid = grid.findSwept(x - dx, y - dy, x, y);
+		}
+		return asteroid;
+	}
+
+	/* Tests the hull points of the ships without a shield against the
+	 * asteroids. The grid must be up to date, which checkBulletCollisions()
+	 * ensures. */
+	void checkPlayerCollisions() {
+		for (Player ship : ships) {
+			if (!ship.hasShield()) {
+				checkShipCollisions(ship);
+			}
+		}
+	}
+
+	private void checkShipCollisions(Player ship) {
+		int xPoints[] = ship.getXPoints();
+		int yPoints[] = ship.getYPoints();
+		for (int j = 0; j < 3; j++) {
+			Asteroid asteroid = grid.find(xPoints[j], yPoints[j]);
+			if (asteroid != null) {
+				createExplosion(xPoints[j], yPoints[j], Player.COLOR);
+				createExplosion(asteroid.getX() + asteroid.getWidth() / 2,
+						asteroid.getY() + asteroid.getHeight() / 2, Asteroid.COLOR);
+				playSound(GameSounds.SOUND_COLLISION, false);
+				lives--;
+				destroyAsteroid(asteroid);
+				resetShip(ship);
+				break;
+			}
+		}
+	}
+
+	/* Removes an asteroid from the field and the grid, splitting it into two
+	 * smaller asteroids if it is not already the smallest size. The asteroid
+	 * is only returned to the pool once its pieces have been created from it. */
+	private void destroyAsteroid(Asteroid asteroid) {
+		grid.remove(asteroid);
+		asteroids.remove(asteroid);
+		if (asteroid.getSize() != Asteroid.SMALL) {
+			for (int i = 0; i < 2; i++) {
+				Asteroid child = asteroidPool.acquire();
+				child.reset(asteroid, random);
+				asteroids.add(child);
+				grid.insert(child);
+			}
+		}
+		asteroidPool.release(asteroid);
+	}
+
+	/* Fills in the given snapshot from the current state of the game, with
+	 * entities at the current interpolation between the last two ticks. */
+	void capture(FrameSnapshot s) {
+		s.clear();
+		s.setHud(score, lives, level, gameOver);
+		float offset = (interpolation - 1.0f) * (float)tickPeriod;
+		s.setStarfield(seed, starXOffsets, starYOffsets, offset);
+		for (Bullet bullet : bullets) {
+			s.addBullet(bullet);
+		}
+		for (Asteroid asteroid : asteroids) {
+			s.addAsteroid(asteroid);
+		}
+		s.setPlayer(player);
+		for (Player ship : ships) {
+			if (ship != player) {
+				s.addShip(ship);
+			}
+		}
+		s.setParticles(particles, offset);
+	}
+
+	void buffer(Graphics2D g) {
+		capture(snapshot);
+		getRenderer().render(g, snapshot);
+	}
+
+	/* Draws a frame at the given fraction of the way from the previous tick to
+	 * the current one. */
+	private void draw(float alpha) {
+		interpolation = alpha;
+		Entity.setInterpolation(alpha);
+		long startTime = System.nanoTime();
+		capture(snapshot);
+		stats.record(FrameStats.SNAPSHOT, System.nanoTime() - startTime);
+		render(snapshot);
+	}
+
+	private Renderer getRenderer() {
+		if (renderer == null) {
+			renderer = new Renderer(width, height);
+		}
+		return renderer;
+	}
+
+	/* Draws the given snapshot to the buffer strategy and shows it. */
+	private void render(FrameSnapshot s) {
+		try {
+			long startTime = System.nanoTime();
+			Graphics2D g = (Graphics2D)bufferStrat.getDrawGraphics();
+			if (scaledBuffer != null) {
+				Graphics2D sg = scaledBuffer.begin(g);
+				renderer.render(sg, s);
+				sg.dispose();
+				scaledBuffer.end(g, width, height);
+			} else {
+				renderer.render(g, s);
+			}
+			g.dispose();
+			long showTime = System.nanoTime();
+			stats.record(FrameStats.BUFFER, showTime - startTime);
+			if (governor != null) {
+				renderer.setQuality(governor.record(showTime - startTime));
+			}
+			if (!bufferStrat.contentsLost()) {
+				bufferStrat.show();
+				stats.record(FrameStats.SHOW, System.nanoTime() - showTime);
+				if (!firstFrameShown) {
+					firstFrameShown = true;
+					System.out.println("First frame shown " + AssetLoader.uptimeMillis() + " ms after JVM start");
+				}
+			} else {
+				stats.countContentsLost();
+				System.out.println("Warning: graphics buffer contents lost.");
+			}
+			stats.countFrame();
+		} catch (Exception e) {
+			e.printStackTrace();
+			running = false;
+		}
+	}
+
+	@Override
+	public void keyPressed(KeyEvent evt) {
+		if (evt.getKeyCode() == KeyEvent.VK_RIGHT) {
+			rightPressed = true;
+		} else if (evt.getKeyCode() == KeyEvent.VK_UP) {
+			upPressed = true;
+		} else if (evt.getKeyCode() == KeyEvent.VK_LEFT) {
+			leftPressed = true;
+		} else if (evt.getKeyCode() == KeyEvent.VK_DOWN) {
+			downPressed = true;
+		} else if (evt.getKeyCode() == KeyEvent.VK_SPACE) {
+			spacePressed = true;
+		} else if (evt.getKeyCode() == KeyEvent.VK_ESCAPE) {
+			stopGame();
+		}
+	}
+
+	@Override
+	public void keyReleased(KeyEvent evt) {
+		if (evt.getKeyCode() == KeyEvent.VK_RIGHT) {
+			rightPressed = false;
+		} else if (evt.getKeyCode() == KeyEvent.VK_UP) {
+			upPressed = false;
+		} else if (evt.getKeyCode() == KeyEvent.VK_LEFT) {
+			leftPressed = false;
+		} else if (evt.getKeyCode() == KeyEvent.VK_SPACE) {
+			spacePressed = false;
+		} else if (evt.getKeyCode() == KeyEvent.VK_DOWN) {
+			downPressed = false;
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package asteroids;
+
+import java.util.Random;
+
+/* GameRandom produces exactly the same numbers as java.util.Random, but its
+ * state can be read and set, so that a saved game continues with the same
+ * random choices it would have made. It is not thread-safe. */
+
+public class GameRandom extends Random {
+
+	private static final long serialVersionUID = 1L;
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	private long state;
+
+	public GameRandom(long seed) {
+		super(seed);
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		// called by the constructor of Random, before the fields are set
+		super.setSeed(seed);
+		state = (seed ^ MULTIPLIER) & MASK;
+	}
+
+	@Override
+	protected int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int)(state >>> (48 - bits));
+	}
+
+	public long getState() {
+		return state;
+	}
+
+	public void setState(long state) {
+		this.state = state & MASK;
+	}
+
+}
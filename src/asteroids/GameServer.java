@@ -0,0 +1,274 @@
+package asteroids;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/* The GameServer runs a headless game for players on the network, who send
+ * their keys over UDP and get snapshots of the game back. */
+
+public class GameServer {
+
+	public static final int DEFAULT_PORT = 7777;
+	public static final int DEFAULT_SEND_RATE = 30;
+	// packet types
+	static final byte INPUT = 1;
+	static final byte LEAVE = 2;
+	static final byte SNAPSHOT = 3;
+	// snapshots kept as delta bases, which must match the clients
+	static final int HISTORY = 32;
+	static final int MAX_PACKET = 65507;
+	// the player's ship index is sent in a signed byte
+	static final int MAX_CLIENTS = 127;
+
+	private final long TIMEOUT_NS = 5000000000L;
+	private final long STATS_INTERVAL_NS = 5000000000L;
+
+	private final GameLogic game;
+	private final DatagramChannel channel;
+	private final ByteBuffer in, out;
+	private final Map<SocketAddress, RemoteClient> clients;
+	private final WorldState[] history;
+	private int tickRate;
+	private int sendRate;
+	private int sequence;
+	private volatile boolean running;
+	// stats for the current interval
+	private final LatencyHistogram tickTimes, sendTimes;
+	private long sendRound, bytesSent, clientSends, fullSends, dropped;
+
+	/* Opens the server on the given port of every interface. */
+	public GameServer(int port, int width, int height) throws IOException {
+		game = new GameLogic(width, height);
+		game.setLocalPlayer(false);
+		game.setParallelThreshold(0);
+		channel = DatagramChannel.open();
+		channel.configureBlocking(false);
+		channel.bind(new InetSocketAddress(port));
+		in = ByteBuffer.allocate(MAX_PACKET);
+		out = ByteBuffer.allocate(MAX_PACKET);
+		clients = new HashMap<>();
+		history = new WorldState[HISTORY];
+		for (int i = 0; i < HISTORY; i++) {
+			history[i] = new WorldState();
+		}
+		tickTimes = new LatencyHistogram();
+		sendTimes = new LatencyHistogram();
+		setTickRate(GameConfig.DEFAULT_TICK_RATE);
+		sendRate = DEFAULT_SEND_RATE;
+	}
+
+	public void setTickRate(int rate) {
+		tickRate = rate;
+		game.setTickRate(rate);
+	}
+
+	/* Sets the number of snapshots sent to each client per second, which is
+	 * rounded to a whole number of ticks between snapshots. */
+	public void setSendRate(int rate) {
+		sendRate = rate;
+	}
+
+	public void setSeed(long seed) {
+		game.setSeed(seed);
+	}
+
+	/* Runs the game for the given number of ticks, or until stop() is called
+	 * if it is 0, then closes the server. */
+	public void run(int maxTicks) throws IOException {
+		running = true;
+		game.newGame();
+		int ticksPerSend = Math.max(1, tickRate / sendRate);
+		long tickPeriodNs = 1000000000L / tickRate;
+		LoopTimer timer = new LoopTimer();
+		long nextTick = System.nanoTime();
+		long nextStats = nextTick + STATS_INTERVAL_NS;
+		long statsStart = nextTick;
+		System.out.printf("Server on port %d at %d ticks/sec, sending %d snapshots/sec%n",
+				((InetSocketAddress)channel.getLocalAddress()).getPort(), tickRate, tickRate / ticksPerSend);
+		for (int tick = 0; running && (maxTicks == 0 || tick < maxTicks); tick++) {
+			long startTime = System.nanoTime();
+			receive(startTime);
+			game.update();
+			long sendTime = System.nanoTime();
+			tickTimes.record(sendTime - startTime);
+			if (tick % ticksPerSend == 0) {
+				send();
+				sendTimes.record(System.nanoTime() - sendTime);
+			}
+			long now = System.nanoTime();
+			if (now >= nextStats) {
+				printStats(now - statsStart);
+				statsStart = now;
+				nextStats = now + STATS_INTERVAL_NS;
+			}
+			nextTick += tickPeriodNs;
+			if (now - nextTick > tickPeriodNs * 12) {
+				// too far behind to catch up
+				nextTick = now;
+			}
+			timer.waitUntil(nextTick);
+		}
+		printStats(System.nanoTime() - statsStart);
+		channel.close();
+	}
+
+	public void stop() {
+		running = false;
+	}
+
+	/* Reads every waiting packet without blocking, and drops the clients that
+	 * have gone quiet. */
+	private void receive(long now) throws IOException {
+		while (true) {
+			in.clear();
+			SocketAddress address = channel.receive(in);
+			if (address == null) {
+				break;
+			}
+			in.flip();
+			if (in.remaining() < 6) {
+				continue;
+			}
+			byte type = in.get();
+			int ack = in.getInt();
+			int keys = in.get();
+			RemoteClient client = clients.get(address);
+			if (type == LEAVE) {
+				if (client != null) {
+					removeClient(client);
+				}
+				continue;
+			}
+			if (type != INPUT) {
+				continue;
+			}
+			if (client == null) {
+				if (clients.size() >= MAX_CLIENTS) {
+					continue;
+				}
+				client = new RemoteClient(address);
+				client.ship = game.addPlayer(client);
+				clients.put(address, client);
+				System.out.println("Player joined from " + address + ", " + clients.size() + " playing");
+			}
+			client.keys = keys;
+			client.ack = Math.max(client.ack, ack);
+			client.lastHeard = now;
+		}
+		for (Iterator<RemoteClient> i = clients.values().iterator(); i.hasNext();) {
+			RemoteClient client = i.next();
+			if (now - client.lastHeard > TIMEOUT_NS) {
+				i.remove();
+				game.removePlayer(client.ship);
+				System.out.println("Player at " + client.address + " timed out, " + clients.size() + " playing");
+			}
+		}
+	}
+
+	private void removeClient(RemoteClient client) {
+		clients.remove(client.address);
+		game.removePlayer(client.ship);
+		System.out.println("Player at " + client.address + " left, " + clients.size() + " playing");
+	}
+
+	/* Captures a new snapshot and sends it to every client as a delta
+	 * against the last one it confirmed. */
+	private void send() throws IOException {
+		sequence++;
+		sendRound++;
+		WorldState current = history[sequence % HISTORY];
+		current.capture(game, sequence);
+		EntityList<Player> ships = game.getShips();
+		for (RemoteClient client : clients.values()) {
+			WorldState base = findBase(history, sequence, client.ack);
+			if (base == null) {
+				fullSends++;
+			}
+			int own = -1;
+			for (int i = 0; i < ships.size(); i++) {
+				if (ships.get(i) == client.ship) {
+					own = i;
+				}
+			}
+			out.clear();
+			try {
+				out.put(SNAPSHOT);
+				out.put((byte)own);
+				current.write(out, base);
+			} catch (BufferOverflowException e) {
+				dropped++;
+				continue;
+			}
+			out.flip();
+			int sent = channel.send(out, client.address);
+			if (sent == 0) {
+				dropped++;
+			} else {
+				bytesSent += sent;
+				clientSends++;
+			}
+		}
+	}
+
+	/* Returns the snapshot in the history with the given acknowledged
+	 * sequence, or null if there is none or it is too old to be kept. */
+	static WorldState findBase(WorldState[] history, int sequence, int ack) {
+		if (ack < 0 || sequence - ack >= HISTORY) {
+			return null;
+		}
+		WorldState base = history[ack % HISTORY];
+		return (base.sequence == ack ? base : null);
+	}
+
+	private void printStats(long elapsed) {
+		int players = clients.size();
+		double seconds = elapsed / 1000000000.0;
+		double perSnapshot = (clientSends > 0 ? (double)bytesSent / clientSends : 0.0);
+		double perClient = perSnapshot * sendRound / seconds;
+		// the size the latest snapshot would have without a delta base
+		out.clear();
+		history[sequence % HISTORY].write(out, null);
+		System.out.printf(Locale.ROOT, "%d players: tick p50 %.1f us, p99 %.1f us; send p50 %.1f us, p99 %.1f us; "
+				+ "%.0f bytes/sec per client, %.0f bytes per snapshot (%d in full), %d full, %d dropped%n",
+				players, tickTimes.getPercentile(50.0) / 1000.0, tickTimes.getPercentile(99.0) / 1000.0,
+				sendTimes.getPercentile(50.0) / 1000.0, sendTimes.getPercentile(99.0) / 1000.0, perClient,
+				perSnapshot, out.position() + 2, fullSends, dropped);
+		sendRound = 0;
+		tickTimes.reset();
+		sendTimes.reset();
+		bytesSent = 0;
+		clientSends = 0;
+		fullSends = 0;
+		dropped = 0;
+	}
+
+	/* A connected client, which steers its ship with the keys it last sent. */
+	private static class RemoteClient implements Bot {
+
+		private final SocketAddress address;
+		private Player ship;
+		private int keys;
+		private int ack;
+		private long lastHeard;
+
+		public RemoteClient(SocketAddress address) {
+			this.address = address;
+			ack = -1;
+		}
+
+		@Override
+		public int nextKeys(GameLogic game, Player ship) {
+			return keys;
+		}
+
+	}
+
+}
@@ -0,0 +1,54 @@
+package asteroids;
+
+import java.io.File;
+
+/* This class is responsible for the handling of sound effects, which are
+ * loaded in the background and played through an AudioMixer. */
+
+public class GameSounds {
+
+	public static final int SOUND_ASTEROID = 0;
+	public static final int SOUND_MUSIC = 1;
+	public static final int SOUND_COLLISION = 2;
+	public static final int SOUND_LASER = 3;
+	public static final String SOUNDS[] = {
+		"asteroid.wav", "bg_music.wav",
+		"collision.wav", "laser.wav"
+	};
+	private static final String DIR = "sound/";
+
+	private AudioMixer mixer;
+
+	/* Starts opening the audio device and loading the sounds, and returns
+	 * without waiting for them. */
+	public GameSounds() {
+		mixer = new AudioMixer(SOUNDS.length);
+		int threads = Math.min(SOUNDS.length + 1, Runtime.getRuntime().availableProcessors());
+		AssetLoader loader = new AssetLoader(threads);
+		loader.load("audio device", () -> {
+			mixer.start();
+			return mixer;
+		}, m -> {});
+		loadSound(loader, SOUND_MUSIC);
+		for (int i = 0; i < SOUNDS.length; i++) {
+			if (i != SOUND_MUSIC) {
+				loadSound(loader, i);
+			}
+		}
+		loader.shutdown();
+	}
+
+	private void loadSound(AssetLoader loader, int sound) {
+		loader.load(SOUNDS[sound], () -> AudioSample.load(new File(DIR + SOUNDS[sound])),
+				sample -> mixer.setSample(sound, sample), () -> mixer.setFailed(sound));
+	}
+
+	public void playSound(int sound, boolean loop) {
+		mixer.trigger(sound, loop);
+	}
+
+	public void stop() {
+		mixer.stop();
+	}
+
+}
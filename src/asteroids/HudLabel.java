@@ -0,0 +1,80 @@
+package asteroids;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+
+/* A HudLabel is a line of HUD text kept as a laid-out GlyphVector, which is
+ * only built again when its number changes. */
+
+public class HudLabel {
+
+	private static final FontRenderContext FRC = new FontRenderContext(null, true, false);
+
+	private final String prefix;
+	private final Font font;
+	private final Color color;
+	private final boolean numbered;
+	private final float height;
+	private int value;
+	private float width;
+	private GlyphVector glyphs;
+
+	/* Creates a label that shows the prefix followed by a number. */
+	public HudLabel(String prefix, Font font, Color color) {
+		this(prefix, font, color, true);
+	}
+
+	/* Creates a label with fixed text. */
+	public static HudLabel text(String text, Font font, Color color) {
+		return new HudLabel(text, font, color, false);
+	}
+
+	private HudLabel(String prefix, Font font, Color color, boolean numbered) {
+		this.prefix = prefix;
+		this.font = font;
+		this.color = color;
+		this.numbered = numbered;
+		height = font.getLineMetrics(prefix, FRC).getHeight();
+	}
+
+	/* Sets the number shown after the prefix. */
+	public void setValue(int value) {
+		if (value != this.value) {
+			this.value = value;
+			glyphs = null;
+		}
+	}
+
+	/* Returns the width of the text. */
+	public float getWidth() {
+		layout();
+		return width;
+	}
+
+	/* Returns the height of a line of the label's font. */
+	public float getHeight() {
+		return height;
+	}
+
+	/* Draws the label with its baseline starting at (x, y). */
+	public void draw(Graphics2D g, int x, int y) {
+		layout();
+		g.setColor(color);
+		g.drawGlyphVector(glyphs, x, y);
+	}
+
+	/* Draws the label centred on x, with its baseline at y. */
+	public void drawCentred(Graphics2D g, float x, float y) {
+		draw(g, (int)(x - getWidth() / 2), (int)y);
+	}
+
+	private void layout() {
+		if (glyphs == null) {
+			String text = (numbered ? prefix + value : prefix);
+			glyphs = font.createGlyphVector(FRC, text);
+			width = (float)glyphs.getLogicalBounds().getWidth();
+		}
+	}
+
+}
@@ -0,0 +1,210 @@
+package asteroids;
+
+import java.io.*;
+import java.util.Arrays;
+
+/* InputLog records the control keys of every tick, run length encoded, so that
+ * a seeded game can be replayed exactly. */
+
+public class InputLog {
+
+	public static final int KEY_LEFT = 1;
+	public static final int KEY_RIGHT = 2;
+	public static final int KEY_UP = 4;
+	public static final int KEY_DOWN = 8;
+	public static final int KEY_SPACE = 16;
+
+	private static final int MAGIC = 0x41535452;
+	private static final int VERSION = 2;
+	// bytes before the key data, as written by write()
+	private static final int HEADER_SIZE = 4 + 1 + 8 + 6 * 4 + 4;
+	private static final int KEY_MASK = 0x1f;
+	private static final int LENGTH_SHIFT = 5;
+	private static final int LONG_RUN = 7;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private long seed;
+	private int tickRate;
+	private int width, height;
+	private int ticks;
+	private int finalScore, finalLevel;
+	private byte[] data;
+	private int size;
+	// the run currently being recorded
+	private int runKeys;
+	private int runLength;
+	// the replay position
+	private int readPos;
+	private int readKeys;
+	private int readRemaining;
+
+	/* Creates an empty log for recording a game with the given settings. */
+	public InputLog(long seed, int tickRate, int width, int height) {
+		this.seed = seed;
+		this.tickRate = tickRate;
+		this.width = width;
+		this.height = height;
+		data = new byte[INITIAL_CAPACITY];
+		size = 0;
+		runKeys = 0;
+		runLength = 0;
+		ticks = 0;
+	}
+
+	/* Records the key states of one tick. */
+	public void record(int keys) {
+		if (runLength > 0 && keys != runKeys) {
+			writeRun();
+		}
+		runKeys = keys;
+		runLength++;
+		ticks++;
+	}
+
+	/* Stores the outcome of the recorded game in the header. */
+	public void finish(int score, int level) {
+		finalScore = score;
+		finalLevel = level;
+	}
+
+	public boolean hasNext() {
+		return (readRemaining > 0 || readPos < size);
+	}
+
+	/* Returns the key states of the next tick of the replay. */
+	public int next() {
+		if (readRemaining == 0) {
+			if (readPos >= size) {
+				throw new IllegalStateException("No more ticks in the input log");
+			}
+			int b = data[readPos++] & 0xff;
+			readKeys = b & KEY_MASK;
+			int length = b >>> LENGTH_SHIFT;
+			if (length == LONG_RUN) {
+				readRemaining = readVarInt();
+			} else {
+				readRemaining = length + 1;
+			}
+		}
+		readRemaining--;
+		return readKeys;
+	}
+
+	public void write(String file) throws IOException {
+		if (runLength > 0) {
+			writeRun();
+		}
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeLong(seed);
+			out.writeInt(tickRate);
+			out.writeInt(width);
+			out.writeInt(height);
+			out.writeInt(ticks);
+			out.writeInt(finalScore);
+			out.writeInt(finalLevel);
+			out.writeInt(size);
+			out.write(data, 0, size);
+		} finally {
+			out.close();
+		}
+	}
+
+	public static InputLog read(String file) throws IOException {
+		long length = new File(file).length();
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != MAGIC) {
+				throw new IOException(file + " is not an input log");
+			}
+			int version = in.readByte();
+			if (version != VERSION) {
+				throw new IOException("Unsupported input log version " + version);
+			}
+			InputLog log = new InputLog(in.readLong(), in.readInt(), in.readInt(), in.readInt());
+			log.ticks = in.readInt();
+			log.finalScore = in.readInt();
+			log.finalLevel = in.readInt();
+			log.size = in.readInt();
+			if (log.size < 0 || log.size > length - HEADER_SIZE) {
+				throw new IOException(file + " is truncated or corrupt: " + log.size + " bytes of input, "
+						+ Math.max(0, length - HEADER_SIZE) + " left");
+			}
+			log.data = new byte[log.size];
+			in.readFully(log.data);
+			return log;
+		} finally {
+			in.close();
+		}
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getTickRate() {
+		return tickRate;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getTicks() {
+		return ticks;
+	}
+
+	public int getFinalScore() {
+		return finalScore;
+	}
+
+	public int getFinalLevel() {
+		return finalLevel;
+	}
+
+	/* Returns the size of the encoded key states in bytes. */
+	public int getSize() {
+		return size;
+	}
+
+	private void writeRun() {
+		ensureCapacity(size + 6);
+		if (runLength <= LONG_RUN) {
+			data[size++] = (byte)(runKeys | ((runLength - 1) << LENGTH_SHIFT));
+		} else {
+			data[size++] = (byte)(runKeys | (LONG_RUN << LENGTH_SHIFT));
+			int length = runLength;
+			while ((length & ~0x7f) != 0) {
+				data[size++] = (byte)((length & 0x7f) | 0x80);
+				length >>>= 7;
+			}
+			data[size++] = (byte)length;
+		}
+		runLength = 0;
+	}
+
+	private int readVarInt() {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = data[readPos++] & 0xff;
+			value |= (b & 0x7f) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > data.length) {
+			data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+		}
+	}
+
+}
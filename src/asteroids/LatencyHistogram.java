@@ -0,0 +1,81 @@
+package asteroids;
+
+import java.util.Arrays;
+
+/* LatencyHistogram counts durations in log-linear buckets, for percentiles in
+ * a fixed amount of memory. */
+
+public class LatencyHistogram {
+
+	private static final int SUB_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (64 - SUB_BITS) << SUB_BITS;
+
+	private long[] counts;
+	private long count;
+	private long max;
+
+	public LatencyHistogram() {
+		counts = new long[BUCKETS];
+	}
+
+	public synchronized void record(long nanos) {
+		if (nanos < 0L) {
+			nanos = 0L;
+		}
+		counts[index(nanos)]++;
+		count++;
+		if (nanos > max) {
+			max = nanos;
+		}
+	}
+
+	public synchronized long getCount() {
+		return count;
+	}
+
+	public synchronized long getMax() {
+		return max;
+	}
+
+	/* Returns the duration in nanoseconds that the given percentage of the
+	 * recorded durations did not exceed, or 0 if nothing was recorded. */
+	public synchronized long getPercentile(double percent) {
+		if (count == 0L) {
+			return 0L;
+		}
+		long target = Math.max(1L, (long)Math.ceil(percent / 100.0 * count));
+		long seen = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= target) {
+				return Math.min(upperBound(i), max);
+			}
+		}
+		return max;
+	}
+
+	public synchronized void reset() {
+		Arrays.fill(counts, 0L);
+		count = 0L;
+		max = 0L;
+	}
+
+	private static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int)value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return ((shift + 1) << SUB_BITS) + (int)((value >> shift) & (SUB_BUCKETS - 1));
+	}
+
+	private static long upperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index >> SUB_BITS) - 1;
+		long lower = (long)(SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+		return lower + (1L << shift) - 1;
+	}
+
+}
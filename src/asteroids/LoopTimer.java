@@ -0,0 +1,58 @@
+package asteroids;
+
+/* LoopTimer waits until a deadline with sub-millisecond precision, sleeping
+ * while it safely can and spinning for the rest. */
+
+public class LoopTimer {
+
+	private static final long INITIAL_ESTIMATE_NS = 2000000L;
+	private static final long MAX_SAMPLES = 1000;
+
+	private double estimate;
+	private double mean;
+	private double m2;
+	private long samples;
+
+	public LoopTimer() {
+		estimate = INITIAL_ESTIMATE_NS;
+		mean = INITIAL_ESTIMATE_NS;
+		m2 = 0.0;
+		samples = 1;
+	}
+
+	/* Waits until System.nanoTime() reaches the given deadline. Returns
+	 * immediately if the deadline has already passed. */
+	public void waitUntil(long deadline) {
+		long remaining = deadline - System.nanoTime();
+		while (remaining > estimate) {
+			long start = System.nanoTime();
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			long now = System.nanoTime();
+			addSample(now - start);
+			remaining = deadline - now;
+		}
+		while (deadline - System.nanoTime() > 0L) {
+			Thread.yield();
+		}
+	}
+
+	private void addSample(long duration) {
+		// Welford's running mean and variance, restarted now and then so that
+		// the estimate follows changes in system load
+		if (samples >= MAX_SAMPLES) {
+			samples = 1;
+			m2 = 0.0;
+		}
+		samples++;
+		double delta = duration - mean;
+		mean += delta / samples;
+		m2 += delta * (duration - mean);
+		estimate = mean + Math.sqrt(m2 / (samples - 1));
+	}
+
+}
@@ -0,0 +1,92 @@
+package asteroids;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Locale;
+
+/* LoopbackClients plays a number of GameClients against a server on this
+ * machine on one thread, to load it in tests. */
+
+public class LoopbackClients implements Runnable {
+
+	private static final int INPUT_RATE = 60;
+	// frames spent turning each way by the first client
+	private static final int TURN_FRAMES = 45;
+
+	private final GameClient[] clients;
+	private volatile boolean running;
+	private Thread thread;
+	private long startTime;
+
+	public LoopbackClients(int count, int port, int width, int height) throws IOException {
+		clients = new GameClient[count];
+		for (int i = 0; i < count; i++) {
+			clients[i] = new GameClient(new InetSocketAddress("127.0.0.1", port), width, height);
+		}
+	}
+
+	public void start() {
+		running = true;
+		thread = new Thread(this, "loopback-clients");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/* Stops the clients, tells the server they left and prints what they
+	 * received. */
+	public void stop() {
+		running = false;
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		double seconds = (System.nanoTime() - startTime) / 1000000000.0;
+		long snapshots = 0, bytes = 0, skipped = 0;
+		for (GameClient client : clients) {
+			snapshots += client.getReceived();
+			bytes += client.getBytesReceived();
+			skipped += client.getSkipped();
+			try {
+				client.leave();
+			} catch (IOException e) {
+				// the server has gone already
+			}
+		}
+		System.out.printf(Locale.ROOT, "%d loopback clients received %.1f snapshots/sec and %.0f bytes/sec each, "
+				+ "%d skipped%n", clients.length, snapshots / seconds / clients.length,
+				bytes / seconds / clients.length, skipped);
+	}
+
+	@Override
+	public void run() {
+		LoopTimer timer = new LoopTimer();
+		long period = 1000000000L / INPUT_RATE;
+		startTime = System.nanoTime();
+		long next = startTime;
+		for (int frame = 0; running; frame++) {
+			try {
+				for (int i = 0; i < clients.length; i++) {
+					clients[i].poll();
+					clients[i].sendInput(keys(i, frame));
+				}
+			} catch (IOException e) {
+				System.out.println("Warning: loopback client failed: " + e.getMessage());
+				return;
+			}
+			next += period;
+			timer.waitUntil(next);
+		}
+	}
+
+	private static int keys(int client, int frame) {
+		int keys = InputLog.KEY_SPACE;
+		int turn = TURN_FRAMES + client * 7;
+		keys |= ((frame / turn) % 2 == 0 ? InputLog.KEY_LEFT : InputLog.KEY_RIGHT);
+		if (frame % (turn * 3) < 10) {
+			keys |= InputLog.KEY_UP;
+		}
+		return keys;
+	}
+
+}
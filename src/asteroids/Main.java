@@ -0,0 +1,117 @@
+package asteroids;
+
+import java.io.IOException;
+
+/* Main class simply creates a GameFrame to start execution, or runs a headless
+ * simulation, replay, bot tournament or server when started with -headless,
+ * -replay, -tournament or -server. See GameConfig for the options. */
+
+public class Main {
+
+	public static void main(String[] args) {
+		GameConfig config = null;
+		try {
+			config = GameConfig.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.out.println("Error: " + e.getMessage());
+			System.exit(1);
+		}
+		if (config.isServer()) {
+			runServer(config);
+		} else if (config.getTournamentGames() > 0) {
+			runTournament(config);
+		} else if (config.isHeadless()) {
+			runHeadless(config);
+		} else {
+			new GameFrame(config);
+		}
+	}
+
+	private static void runHeadless(GameConfig config) {
+		int ticks = config.getHeadlessTicks();
+		int width = config.getHeadlessWidth();
+		int height = config.getHeadlessHeight();
+		InputLog replay = null;
+		if (config.getReplayFile() != null) {
+			try {
+				replay = InputLog.read(config.getReplayFile());
+			} catch (IOException e) {
+				System.out.println("Error: could not read " + config.getReplayFile() + ": " + e.getMessage());
+				System.exit(1);
+			}
+			ticks = replay.getTicks();
+			width = replay.getWidth();
+			height = replay.getHeight();
+		}
+		GameLogic game = new GameLogic(width, height);
+		game.setTickRate(config.getTickRate());
+		game.setParallelThreshold(config.getParallelThreshold());
+		if (config.getSeed() != null) {
+			game.setSeed(config.getSeed());
+		}
+		game.setRecordFile(config.getRecordFile());
+		game.setLoadFile(config.getLoadFile());
+		game.setCheckpointFile(config.getCheckpointFile());
+		if (config.isBot()) {
+			game.setBot(new AimBot());
+		}
+		if (replay != null) {
+			game.setReplay(replay);
+		}
+		FrameStats stats = game.getStats();
+		if (config.getStatsCsv() != null) {
+			stats.startCsv(config.getStatsCsv(), config.getStatsInterval());
+		}
+		double tickRate = game.simulate(ticks);
+		stats.stop();
+		System.out.printf("Simulated %d ticks at %dx%d: %.1f ticks/sec%n", ticks, width, height, tickRate);
+		System.out.printf("Update time: p50 %.1f us, p99 %.1f us, max %.1f us%n", stats.getUpdateP50(),
+				stats.getUpdateP99(), stats.getUpdateMax());
+		System.out.printf("Seed %d, score %d, level %d%n", game.getSeed(), game.getScore(), game.getLevel());
+		if (replay != null) {
+			if (game.getScore() == replay.getFinalScore() && game.getLevel() == replay.getFinalLevel()) {
+				System.out.println("Replay matched the recording.");
+			} else {
+				System.out.printf("Replay diverged: recorded score %d, level %d%n", replay.getFinalScore(),
+						replay.getFinalLevel());
+			}
+		}
+	}
+
+	private static void runServer(GameConfig config) {
+		try {
+			GameServer server = new GameServer(config.getPort(), config.getHeadlessWidth(),
+					config.getHeadlessHeight());
+			server.setTickRate(config.getTickRate());
+			server.setSendRate(config.getSendRate());
+			if (config.getSeed() != null) {
+				server.setSeed(config.getSeed());
+			}
+			LoopbackClients loopback = null;
+			if (config.getLoopbackClients() > 0) {
+				loopback = new LoopbackClients(config.getLoopbackClients(), config.getPort(),
+						config.getHeadlessWidth(), config.getHeadlessHeight());
+				loopback.start();
+			}
+			server.run(config.isHeadless() ? config.getHeadlessTicks() : 0);
+			if (loopback != null) {
+				loopback.stop();
+			}
+		} catch (IOException e) {
+			System.out.println("Error: server failed: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	private static void runTournament(GameConfig config) {
+		Tournament tournament = new Tournament(config.getTournamentGames(), config.getHeadlessTicks(),
+				config.getHeadlessWidth(), config.getHeadlessHeight(), AimBot::new);
+		tournament.setTickRate(config.getTickRate());
+		tournament.setThreads(config.getThreads());
+		if (config.getSeed() != null) {
+			tournament.setSeed(config.getSeed());
+		}
+		tournament.run();
+	}
+
+}
@@ -0,0 +1,103 @@
+package asteroids;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/* The ParallelUpdater moves large numbers of entities and particles on the
+ * common ForkJoinPool, with the same result as moving them one by one. */
+
+public class ParallelUpdater {
+
+	public static final int DEFAULT_THRESHOLD = 8192;
+
+	private final int CHUNK_SIZE = 2048;
+
+	private int threshold;
+	private ForkJoinPool pool;
+
+	/* Creates an updater that goes parallel from the given number of entities,
+	 * or never if the threshold is 0. */
+	public ParallelUpdater(int threshold) {
+		this.threshold = threshold;
+		pool = ForkJoinPool.commonPool();
+	}
+
+	public void move(EntityStore<?> entities, double period) {
+		int size = entities.size();
+		if (isParallel(size)) {
+			pool.invoke(new MoveTask(entities, period, 0, size));
+		} else {
+			entities.move(0, size, period);
+		}
+	}
+
+	public void update(ParticleSystem particles, double period) {
+		int count = particles.size();
+		if (isParallel(count)) {
+			pool.invoke(new IntegrateTask(particles, period, 0, count));
+		} else {
+			particles.integrate(0, count, period);
+		}
+		particles.removeExpired();
+	}
+
+	private boolean isParallel(int size) {
+		return (threshold > 0 && size >= threshold);
+	}
+
+	private class MoveTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private EntityStore<?> entities;
+		private double period;
+		private int from, to;
+
+		public MoveTask(EntityStore<?> entities, double period, int from, int to) {
+			this.entities = entities;
+			this.period = period;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= CHUNK_SIZE) {
+				entities.move(from, to, period);
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new MoveTask(entities, period, from, mid), new MoveTask(entities, period, mid, to));
+			}
+		}
+
+	}
+
+	private class IntegrateTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private ParticleSystem particles;
+		private double period;
+		private int from, to;
+
+		public IntegrateTask(ParticleSystem particles, double period, int from, int to) {
+			this.particles = particles;
+			this.period = period;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= CHUNK_SIZE) {
+				particles.integrate(from, to, period);
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new IntegrateTask(particles, period, from, mid),
+						new IntegrateTask(particles, period, mid, to));
+			}
+		}
+
+	}
+
+}
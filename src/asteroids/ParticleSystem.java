@@ -0,0 +1,219 @@
+package asteroids;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/* The ParticleSystem keeps effect particles in parallel primitive arrays of a
+ * fixed capacity instead of as entity objects. */
+
+public class ParticleSystem {
+
+	private static final int MAX_COLORS = 256;
+
+	private int capacity;
+	private int count;
+	private float[] x, y;
+	private float[] xSpeed, ySpeed;
+	private float[] lifeTime;
+	private byte[] color;
+	private Color[] palette;
+	private int paletteSize;
+
+	public ParticleSystem(int capacity) {
+		this.capacity = capacity;
+		x = new float[capacity];
+		y = new float[capacity];
+		xSpeed = new float[capacity];
+		ySpeed = new float[capacity];
+		lifeTime = new float[capacity];
+		color = new byte[capacity];
+		palette = new Color[MAX_COLORS];
+		paletteSize = 0;
+		count = 0;
+	}
+
+	/* Returns the palette index of the given colour, adding it to the palette
+	 * if it is not there yet. */
+	public int colorIndex(Color c) {
+		for (int i = 0; i < paletteSize; i++) {
+			if (palette[i].equals(c)) {
+				return i;
+			}
+		}
+		if (paletteSize == MAX_COLORS) {
+			throw new IllegalStateException("Particle palette is full");
+		}
+		palette[paletteSize] = c;
+		return paletteSize++;
+	}
+
+	public boolean spawn(float px, float py, float vx, float vy, float life, int colorIndex) {
+		if (count == capacity) {
+			return false;
+		}
+		x[count] = px;
+		y[count] = py;
+		xSpeed[count] = vx;
+		ySpeed[count] = vy;
+		lifeTime[count] = life;
+		color[count] = (byte)colorIndex;
+		count++;
+		return true;
+	}
+
+	/* Moves all particles and removes the ones whose lifetime ran out. */
+	public void update(double period) {
+		integrate(0, count, period);
+		removeExpired();
+	}
+
+	/* Moves the particles in the given index range and decreases their
+	 * lifetimes. The particles wrap around the screen edges like entities do.
+	 * Ranges that do not overlap can be integrated concurrently. */
+	public void integrate(int from, int to, double period) {
+		float p = (float)period;
+		int wrapWidth = Entity.wrapWidth;
+		int wrapHeight = Entity.wrapHeight;
+		for (int i = from; i < to; i++) {
+			lifeTime[i] -= p;
+			float px = x[i] + xSpeed[i] * p;
+			float py = y[i] + ySpeed[i] * p;
+			if (px > wrapWidth) {
+				px = -1.0f;
+			} else if (px + 1.0f < 0.0f) {
+				px = wrapWidth;
+			}
+			if (py > wrapHeight) {
+				py = -1.0f;
+			} else if (py + 1.0f < 0.0f) {
+				py = wrapHeight;
+			}
+			x[i] = px;
+			y[i] = py;
+		}
+	}
+
+	/* Removes every particle whose lifetime ran out. */
+	public void removeExpired() {
+		for (int i = 0; i < count; i++) {
+			if (lifeTime[i] <= 0.0f) {
+				remove(i);
+				i--;
+			}
+		}
+	}
+
+	/* Copies the positions, shifted along their velocity by the given time
+	 * offset in seconds, and the colour indices of the particles into the
+	 * given arrays, which must be at least as long as the number of
+	 * particles, and returns the number of particles. A negative offset moves
+	 * the particles part of the way back to where they were on the previous
+	 * tick. */
+	public int copyTo(float[] xs, float[] ys, byte[] colors, float offset) {
+		for (int i = 0; i < count; i++) {
+			xs[i] = x[i] + xSpeed[i] * offset;
+			ys[i] = y[i] + ySpeed[i] * offset;
+		}
+		System.arraycopy(color, 0, colors, 0, count);
+		return count;
+	}
+
+	/* Copies the palette into the given array, which must be at least
+	 * getPaletteCapacity() long. */
+	public void copyPalette(Color[] colors) {
+		System.arraycopy(palette, 0, colors, 0, paletteSize);
+	}
+
+	public int getPaletteSize() {
+		return paletteSize;
+	}
+
+	public int getPaletteCapacity() {
+		return MAX_COLORS;
+	}
+
+	public void clear() {
+		count = 0;
+	}
+
+	/* Writes the palette and the live particles to the buffer, for a
+	 * SaveState, copying each array in bulk. */
+	public void save(ByteBuffer out) {
+		out.putInt(paletteSize);
+		for (int i = 0; i < paletteSize; i++) {
+			out.putInt(palette[i].getRGB());
+		}
+		out.putInt(count);
+		putFloats(out, x);
+		putFloats(out, y);
+		putFloats(out, xSpeed);
+		putFloats(out, ySpeed);
+		putFloats(out, lifeTime);
+		out.put(color, 0, count);
+	}
+
+	/* Skips the state written by save(), throwing an IOException if it does
+	 * not fit. */
+	void check(ByteBuffer in) throws IOException {
+		int size = in.getInt();
+		if (size < 0 || size > palette.length) {
+			throw new IOException(size + " particle colours do not fit in " + palette.length);
+		}
+		in.position(in.position() + size * 4);
+		int saved = in.getInt();
+		if (saved < 0 || saved > capacity) {
+			throw new IOException(saved + " particles do not fit in " + capacity);
+		}
+		in.position(in.position() + saved * (5 * 4 + 1));
+	}
+
+	/* Reads the state written by save(), which check() has accepted.
+	 * Palette colours that are already there are kept. */
+	public void load(ByteBuffer in) {
+		int size = in.getInt();
+		for (int i = 0; i < size; i++) {
+			int rgb = in.getInt();
+			if (i >= paletteSize || palette[i].getRGB() != rgb) {
+				palette[i] = new Color(rgb, true);
+			}
+		}
+		paletteSize = size;
+		count = in.getInt();
+		getFloats(in, x);
+		getFloats(in, y);
+		getFloats(in, xSpeed);
+		getFloats(in, ySpeed);
+		getFloats(in, lifeTime);
+		in.get(color, 0, count);
+	}
+
+	private void putFloats(ByteBuffer out, float[] values) {
+		out.asFloatBuffer().put(values, 0, count);
+		out.position(out.position() + count * 4);
+	}
+
+	private void getFloats(ByteBuffer in, float[] values) {
+		in.asFloatBuffer().get(values, 0, count);
+		in.position(in.position() + count * 4);
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	private void remove(int i) {
+		count--;
+		x[i] = x[count];
+		y[i] = y[count];
+		xSpeed[i] = xSpeed[count];
+		ySpeed[i] = ySpeed[count];
+		lifeTime[i] = lifeTime[count];
+		color[i] = color[count];
+	}
+
+}
@@ -0,0 +1,211 @@
+package asteroids;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/* The Player class contains all the movement and actions that the player is
+ * capable of. */
+
+public class Player extends Entity {
+
+	public static final int LEFT = 0;
+	public static final int RIGHT = 1;
+	public static final int FORWARD = 2;
+	public static final int BACKWARD = 3;
+	public static final Color COLOR = new Color(113, 141, 48);
+	public static final Color SHIELD_COLOR = new Color(41, 168, 255);
+
+	private final int WIDTH = 32;
+	private final int HEIGHT = 32;
+	private final float FRICTION = 256.0f;
+	private final float ACCELERATION = 640.0f;
+	private final float ANGULAR_SPEED = 360.0f;
+	private final double SHIELD_LIFE_TIME = 3.0f;
+	private final float COS_30 = FastTrig.cos(30.0f);
+	private final float SIN_30 = FastTrig.sin(30.0f);
+
+	private float direction;
+	private float xDirection, yDirection;
+	private double shieldTime;
+	private double bulletTime;
+	private int xPoints[], yPoints[];
+
+	public Player() {
+		setSize(WIDTH, HEIGHT);
+		setDirection(0.0f);
+		xPoints = new int[3];
+		yPoints = new int[3];
+	}
+
+	@Override
+	public void move(double period) {
+		super.move(period);
+		// friction works against the direction of movement
+		float xSpeed = getXSpeed();
+		float ySpeed = getYSpeed();
+		float speed = (float)Math.sqrt(xSpeed * xSpeed + ySpeed * ySpeed);
+		if (xSpeed != 0.0f) {
+			float xFric = (float)(FRICTION * period * (xSpeed / speed));
+			if (Math.abs(xSpeed) - Math.abs(xFric) < 0.0f) {
+				xSpeed = 0.0f;
+			} else {
+				xSpeed -= xFric;
+			}
+		}
+		if (ySpeed != 0.0f) {
+			float yFric = (float)(FRICTION * period * (ySpeed / speed));
+			if (Math.abs(ySpeed) - Math.abs(yFric) < 0.0f) {
+				ySpeed = 0.0f;
+			} else {
+				ySpeed -= yFric;
+			}
+		}
+		setSpeed(xSpeed, ySpeed);
+		updatePoints(getX(), getY(), xPoints, yPoints);
+	}
+
+	public void activateShield() {
+		shieldTime = SHIELD_LIFE_TIME;
+	}
+
+	public boolean hasShield() {
+		return (shieldTime > 0.0);
+	}
+
+	public void decreaseTime(double period) {
+		if (shieldTime > 0.0) {
+			shieldTime -= period;
+		}
+	}
+
+	public void turn(double period, int dir) {
+		switch (dir) {
+			case LEFT:
+				direction -= ANGULAR_SPEED * period;
+				break;
+			case RIGHT:
+				direction += ANGULAR_SPEED * period;
+				break;
+		}
+		if (direction < 0.0f) {
+			direction = 360.0f + direction;
+		}
+		direction %= 360.0f;
+		xDirection = FastTrig.cos(direction);
+		yDirection = FastTrig.sin(direction);
+	}
+
+	public void accelerate(double period, int dir) {
+		float xSpeed = getXSpeed();
+		float ySpeed = getYSpeed();
+		switch (dir) {
+			case FORWARD:
+				xSpeed += (ACCELERATION * period * xDirection);
+				ySpeed += (ACCELERATION * period * yDirection);
+				break;
+			case BACKWARD:
+				xSpeed -= (ACCELERATION * period * xDirection);
+				ySpeed -= (ACCELERATION * period * yDirection);
+				break;
+		}
+		setSpeed(xSpeed, ySpeed);
+	}
+
+	public void setDirection(float dir) {
+		direction = dir % 360.0f;
+		xDirection = FastTrig.cos(direction);
+		yDirection = FastTrig.sin(direction);
+	}
+
+	public float getDirection() {
+		return direction;
+	}
+
+	/* Returns the x component of the unit vector the player is facing. */
+	public float getXDirection() {
+		return xDirection;
+	}
+
+	/* Returns the y component of the unit vector the player is facing. */
+	public float getYDirection() {
+		return yDirection;
+	}
+
+	@Override
+	public void save(ByteBuffer out) {
+		super.save(out);
+		out.putFloat(direction);
+		out.putDouble(shieldTime);
+		out.putDouble(bulletTime);
+	}
+
+	static void check(ByteBuffer in) throws IOException {
+		Entity.check(in);
+		in.position(in.position() + 4 + 2 * 8);
+	}
+
+	@Override
+	public void load(ByteBuffer in) {
+		super.load(in);
+		setDirection(in.getFloat());
+		shieldTime = in.getDouble();
+		bulletTime = in.getDouble();
+		updatePoints(getX(), getY(), xPoints, yPoints);
+	}
+
+	/* Calculates the hull points for the given position and the current
+	 * direction. The collision points are updated on every move so that
+	 * collisions do not depend on drawing. */
+	private void updatePoints(float px, float py, int[] xPoints, int[] yPoints) {
+		float radWidth = WIDTH / 2;
+		float radHeight = HEIGHT / 2;
+		float xMid = px + radWidth;
+		float yMid = py + radHeight;
+		// the back corners are the direction rotated by 30 degrees either way
+		float xLeft = xDirection * COS_30 - yDirection * SIN_30;
+		float yLeft = yDirection * COS_30 + xDirection * SIN_30;
+		float xRight = xDirection * COS_30 + yDirection * SIN_30;
+		float yRight = yDirection * COS_30 - xDirection * SIN_30;
+		xPoints[0] = (int)(xMid + (radWidth * xDirection));
+		yPoints[0] = (int)(yMid + (radHeight * yDirection));
+		xPoints[1] = (int)(xMid - (radWidth * xLeft));
+		yPoints[1] = (int)(yMid - (radHeight * yLeft));
+		xPoints[2] = (int)(xMid - (radWidth * xRight));
+		yPoints[2] = (int)(yMid - (radHeight * yRight));
+	}
+
+	/* Calculates the hull points at the position the player is drawn at. */
+	public void getDrawPoints(int[] xPoints, int[] yPoints) {
+		updatePoints(drawX(), drawY(), xPoints, yPoints);
+	}
+
+	public double getShieldTime() {
+		return shieldTime;
+	}
+
+	/* Sets the shield time directly, for ships whose state comes from
+	 * elsewhere. */
+	void setShieldTime(double time) {
+		shieldTime = time;
+	}
+
+	/* Returns the time until the player can fire again, which the game keeps
+	 * track of. */
+	public double getBulletTime() {
+		return bulletTime;
+	}
+
+	public void setBulletTime(double time) {
+		bulletTime = time;
+	}
+
+	public int[] getXPoints() {
+		return xPoints;
+	}
+
+	public int[] getYPoints() {
+		return yPoints;
+	}
+
+}
\ No newline at end of file
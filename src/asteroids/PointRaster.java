@@ -0,0 +1,61 @@
+package asteroids;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/* PointRaster draws small square points, such as particles, straight into the
+ * pixels of an image that is drawn with one drawImage(). */
+
+public class PointRaster {
+
+	private int width, height;
+	private boolean additive;
+	private BufferedImage image;
+	private int[] pixels;
+
+	public PointRaster(int width, int height) {
+		this.width = width;
+		this.height = height;
+		image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+	}
+
+	/* Adds points to the pixels under them instead of replacing them when
+	 * true, saturating each channel at 255. */
+	public void setAdditive(boolean additive) {
+		this.additive = additive;
+	}
+
+	/* Returns the pixels of the image, one RGB int per pixel, row by row. */
+	public int[] getPixels() {
+		return pixels;
+	}
+
+	/* Draws a size x size square with its top left corner at (x, y) in the
+	 * given RGB colour. */
+	public void draw(int x, int y, int size, int rgb) {
+		int x0 = Math.max(x, 0);
+		int y0 = Math.max(y, 0);
+		int x1 = Math.min(x + size, width);
+		int y1 = Math.min(y + size, height);
+		int[] p = pixels;
+		for (int py = y0; py < y1; py++) {
+			int row = py * width;
+			for (int i = row + x0; i < row + x1; i++) {
+				p[i] = additive ? add(p[i], rgb) : rgb;
+			}
+		}
+	}
+
+	public BufferedImage getImage() {
+		return image;
+	}
+
+	private static int add(int a, int b) {
+		int r = Math.min(((a >> 16) & 0xff) + ((b >> 16) & 0xff), 0xff);
+		int g = Math.min(((a >> 8) & 0xff) + ((b >> 8) & 0xff), 0xff);
+		int bl = Math.min((a & 0xff) + (b & 0xff), 0xff);
+		return (r << 16) | (g << 8) | bl;
+	}
+
+}
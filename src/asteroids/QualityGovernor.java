@@ -0,0 +1,75 @@
+package asteroids;
+
+import java.util.Locale;
+
+/* The QualityGovernor lowers the Renderer's detail while frames take too long
+ * to draw, and raises it again once they have been fast for a while. */
+
+public class QualityGovernor {
+
+	public static final int AUTO = -1;
+	public static final int FULL = 0;
+	public static final int NO_ANTIALIASING = 1;
+	public static final int LOW_DETAIL = 2;
+	public static final int FEW_PARTICLES = 3;
+	public static final int FEW_STARS = 4;
+	public static final String TIERS[] = {
+		"full", "no antialiasing", "low detail asteroids",
+		"fewer particles", "fewer stars"
+	};
+
+	private final int WINDOW = 30;
+	private final double STEP_DOWN = 0.85;
+	private final double STEP_UP = 0.5;
+	private final int UP_WINDOWS = 4;
+
+	private final long budget;
+	private final LatencyHistogram window;
+	private int tier;
+	private int fastWindows;
+
+	/* Creates a governor for frames that have the given number of
+	 * nanoseconds each, starting at full quality. */
+	public QualityGovernor(long budgetNs) {
+		budget = budgetNs;
+		window = new LatencyHistogram();
+		tier = FULL;
+	}
+
+	/* Records how long a frame took to draw and returns the tier to draw the
+	 * next one at. */
+	public int record(long nanos) {
+		window.record(nanos);
+		if (window.getCount() < WINDOW) {
+			return tier;
+		}
+		long p90 = window.getPercentile(90.0);
+		window.reset();
+		if (p90 > budget * STEP_DOWN) {
+			fastWindows = 0;
+			if (tier < FEW_STARS) {
+				change(tier + 1, p90);
+			}
+		} else if (p90 < budget * STEP_UP && tier > FULL) {
+			fastWindows++;
+			if (fastWindows >= UP_WINDOWS) {
+				fastWindows = 0;
+				change(tier - 1, p90);
+			}
+		} else {
+			fastWindows = 0;
+		}
+		return tier;
+	}
+
+	public int getTier() {
+		return tier;
+	}
+
+	private void change(int newTier, long p90) {
+		System.out.printf(Locale.ROOT, "Quality %s -> %s: frame p90 %.2f ms of %.2f ms budget%n",
+				TIERS[tier], TIERS[newTier], p90 / 1000000.0, budget / 1000000.0);
+		tier = newTier;
+	}
+
+}
@@ -0,0 +1,220 @@
+package asteroids;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+
+/* The Renderer draws FrameSnapshots, so it can run on its own thread while the
+ * game fills in the next one. */
+
+public class Renderer {
+
+	private static final Color BACKGROUND = new Color(23, 12, 26);
+	private static final Color TEXT_COLOR = new Color(178, 163, 255);
+
+	public static final int POINTS_SHAPES = 0;
+	public static final int POINTS_RASTER = 1;
+	public static final int POINTS_ADDITIVE = 2;
+
+	private int width;
+	private int height;
+	private float scale;
+	private int scaledWidth, scaledHeight;
+	private float[] starXOffsets, starYOffsets;
+	private HudLabel scoreLabel, livesLabel, levelLabel, shieldLabel;
+	private HudLabel gameOverLabel;
+	private SpriteCache asteroidSprites;
+	private int pointMode;
+	private PointRaster points;
+	private Starfield starfield;
+	private int[] shipXPoints, shipYPoints;
+	// detail for the quality tier
+	private int quality;
+	private Object antialiasing;
+	private int particleStep;
+	private int starLayers;
+
+	public Renderer(int width, int height) {
+		this.width = width;
+		this.height = height;
+		Font smallFont = new Font("Arial", Font.BOLD, 16);
+		Font medFont = new Font("Arial", Font.BOLD, 32);
+		Font largeFont = new Font("Arial", Font.BOLD, 72);
+		scoreLabel = new HudLabel("Score: ", medFont, TEXT_COLOR);
+		livesLabel = new HudLabel("Lives: ", medFont, TEXT_COLOR);
+		levelLabel = new HudLabel("Level: ", medFont, TEXT_COLOR);
+		shieldLabel = new HudLabel("", smallFont, Player.SHIELD_COLOR);
+		gameOverLabel = HudLabel.text("Game Over", largeFont, TEXT_COLOR);
+		asteroidSprites = new SpriteCache(Asteroid.COLOR);
+		shipXPoints = new int[3];
+		shipYPoints = new int[3];
+		starXOffsets = new float[Starfield.LAYERS];
+		starYOffsets = new float[Starfield.LAYERS];
+		setScale(1.0f);
+		setPointMode(POINTS_RASTER);
+		quality = -1;
+		setQuality(QualityGovernor.FULL);
+	}
+
+	/* Sets the scale the field is drawn at, so that it covers
+	 * getScaledWidth() x getScaledHeight() pixels of the Graphics2D it is
+	 * rendered to. */
+	public void setScale(float scale) {
+		this.scale = scale;
+		scaledWidth = Math.max(1, Math.round(width * scale));
+		scaledHeight = Math.max(1, Math.round(height * scale));
+		starfield = null;
+		points = null;
+		setPointMode(pointMode);
+	}
+
+	public int getScaledWidth() {
+		return scaledWidth;
+	}
+
+	public int getScaledHeight() {
+		return scaledHeight;
+	}
+
+	/* Sets how particles are drawn, one of POINTS_SHAPES, POINTS_RASTER or
+	 * POINTS_ADDITIVE. */
+	public void setPointMode(int mode) {
+		pointMode = mode;
+		if (mode == POINTS_SHAPES) {
+			points = null;
+		} else {
+			if (points == null) {
+				points = new PointRaster(scaledWidth, scaledHeight);
+			}
+			points.setAdditive(mode == POINTS_ADDITIVE);
+		}
+	}
+
+	/* Sets how much detail is drawn, one of the QualityGovernor's tiers. */
+	public void setQuality(int tier) {
+		if (tier == quality) {
+			return;
+		}
+		quality = tier;
+		antialiasing = (tier < QualityGovernor.NO_ANTIALIASING ? RenderingHints.VALUE_ANTIALIAS_ON
+				: RenderingHints.VALUE_ANTIALIAS_OFF);
+		asteroidSprites.setPointStep(tier < QualityGovernor.LOW_DETAIL ? 1 : 2);
+		particleStep = (tier < QualityGovernor.FEW_PARTICLES ? 1 : 2);
+		starLayers = (tier < QualityGovernor.FEW_STARS ? Starfield.LAYERS : 1);
+	}
+
+	public void render(Graphics2D g, FrameSnapshot s) {
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+		if (starfield == null || starfield.getSeed() != s.starSeed) {
+			starfield = new Starfield(scaledWidth, scaledHeight, BACKGROUND, s.starSeed);
+		}
+		for (int i = 0; i < Starfield.LAYERS; i++) {
+			starXOffsets[i] = s.starXOffsets[i] * scale;
+			starYOffsets[i] = s.starYOffsets[i] * scale;
+		}
+		if (pointMode == POINTS_SHAPES) {
+			starfield.draw(g, starXOffsets, starYOffsets, starLayers);
+		} else {
+			// background and particles in one blit
+			starfield.draw(points.getPixels(), starXOffsets, starYOffsets, starLayers);
+			rasterPoints(s);
+			g.drawImage(points.getImage(), 0, 0, null);
+		}
+		AffineTransform transform = null;
+		if (scale != 1.0f) {
+			transform = g.getTransform();
+			g.scale(scale, scale);
+		}
+		// draw entities
+		g.setColor(Bullet.COLOR);
+		for (int i = 0; i < s.bulletCount; i++) {
+			g.fillOval((int)s.bulletX[i] - Bullet.RADIUS, (int)s.bulletY[i] - Bullet.RADIUS, Bullet.SIZE,
+					Bullet.SIZE);
+		}
+		for (int i = 0; i < s.asteroidCount; i++) {
+			int slot = s.asteroidSlot[i];
+			asteroidSprites.draw(g, slot, s.shapeIds[slot], s.shapePoints[slot], s.shapeNumPoints[slot],
+					s.shapeSizes[slot], s.asteroidX[i], s.asteroidY[i]);
+		}
+		asteroidSprites.sweep();
+		if (!s.gameOver) {
+			drawShips(g, s);
+			drawPlayer(g, s);
+		}
+		if (pointMode == POINTS_SHAPES) {
+			int current = -1;
+			for (int i = 0; i < s.particleCount; i += particleStep) {
+				int c = s.particleColor[i] & 0xff;
+				if (c != current) {
+					g.setColor(s.palette[c]);
+					current = c;
+				}
+				g.drawOval((int)s.particleX[i], (int)s.particleY[i], 1, 1);
+			}
+		}
+		drawHud(g, s);
+		if (transform != null) {
+			g.setTransform(transform);
+		}
+	}
+
+	/* Writes the particles into the point raster, covering about the same
+	 * pixels as their outlined ovals would. */
+	private void rasterPoints(FrameSnapshot s) {
+		PointRaster r = points;
+		float k = scale;
+		int size = Math.max(1, Math.round(2 * k));
+		int current = -1;
+		int rgb = 0;
+		for (int i = 0; i < s.particleCount; i += particleStep) {
+			int c = s.particleColor[i] & 0xff;
+			if (c != current) {
+				rgb = s.palette[c].getRGB();
+				current = c;
+			}
+			r.draw((int)(s.particleX[i] * k), (int)(s.particleY[i] * k), size, rgb);
+		}
+	}
+
+	private void drawShips(Graphics2D g, FrameSnapshot s) {
+		for (int i = 0; i < s.shipCount; i++) {
+			System.arraycopy(s.shipXPoints, i * 3, shipXPoints, 0, 3);
+			System.arraycopy(s.shipYPoints, i * 3, shipYPoints, 0, 3);
+			g.setColor(Player.COLOR);
+			g.fillPolygon(shipXPoints, shipYPoints, 3);
+			if (s.shipShield[i]) {
+				g.setColor(Player.SHIELD_COLOR);
+				g.drawOval((int)s.shipX[i], (int)s.shipY[i], s.playerWidth, s.playerHeight);
+			}
+		}
+	}
+
+	private void drawPlayer(Graphics2D g, FrameSnapshot s) {
+		g.setColor(Player.COLOR);
+		g.fillPolygon(s.playerXPoints, s.playerYPoints, 3);
+		if (s.playerShield) {
+			g.setColor(Player.SHIELD_COLOR);
+			g.drawOval((int)s.playerX, (int)s.playerY, s.playerWidth, s.playerHeight);
+			shieldLabel.setValue(s.shieldSeconds);
+			shieldLabel.draw(g, (int)s.playerX, (int)s.playerY);
+		}
+	}
+
+	private void drawHud(Graphics2D g, FrameSnapshot s) {
+		scoreLabel.setValue(s.score);
+		levelLabel.setValue(s.level);
+		if (!s.gameOver) {
+			int line = (int)Math.ceil(scoreLabel.getHeight());
+			livesLabel.setValue(s.lives);
+			scoreLabel.draw(g, 10, line);
+			livesLabel.draw(g, 10, line * 2);
+			levelLabel.draw(g, 10, line * 3);
+		} else {
+			float y = height / 2;
+			gameOverLabel.drawCentred(g, width / 2, y);
+			y += gameOverLabel.getHeight();
+			scoreLabel.drawCentred(g, width / 2, y);
+			levelLabel.drawCentred(g, width / 2, y + scoreLabel.getHeight());
+		}
+	}
+
+}
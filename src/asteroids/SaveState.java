@@ -0,0 +1,143 @@
+package asteroids;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/* A SaveState writes the complete state of a running game in a binary form
+ * that it can be restored from, optionally into a memory-mapped file. */
+
+public class SaveState {
+
+	private static final int MAGIC = 0x41535356;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 12;
+	private static final int INITIAL_CAPACITY = 64 * 1024;
+
+	private ByteBuffer buffer;
+	// the memory-mapped file being saved to
+	private String mappedFile;
+	private FileChannel mappedChannel;
+	private MappedByteBuffer mapped;
+
+	public SaveState() {
+		buffer = allocate(INITIAL_CAPACITY);
+	}
+
+	/* Saves the state of the game into the reusable buffer and returns the
+	 * buffer, ready to be read from. */
+	public ByteBuffer save(GameLogic game) {
+		while (!write(game, buffer)) {
+			buffer = allocate(buffer.capacity() * 2);
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	/* Saves the state of the game straight into the given file through a
+	 * memory mapping, which is grown as needed and kept for the next save to
+	 * the same file. The file may be longer than the state. */
+	public void saveMapped(GameLogic game, String file) throws IOException {
+		if (!file.equals(mappedFile)) {
+			close();
+			mappedChannel = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE,
+					StandardOpenOption.READ, StandardOpenOption.WRITE);
+			mappedFile = file;
+		}
+		if (mapped == null) {
+			map(Math.max(INITIAL_CAPACITY, (int)mappedChannel.size()));
+		}
+		while (!write(game, mapped)) {
+			map(mapped.capacity() * 2);
+		}
+	}
+
+	/* Closes the memory-mapped file. The mapping itself is released once it
+	 * is garbage collected. */
+	public void close() throws IOException {
+		if (mappedChannel != null) {
+			mapped.force();
+			mappedChannel.close();
+			mappedChannel = null;
+			mapped = null;
+			mappedFile = null;
+		}
+	}
+
+	/* Restores the game from a state in the given buffer, starting at its
+	 * position. */
+	public static void load(GameLogic game, ByteBuffer in) throws IOException {
+		in.order(ByteOrder.LITTLE_ENDIAN);
+		int start = in.position();
+		if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC) {
+			throw new IOException("Not a saved game");
+		}
+		int version = in.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported save state version " + version);
+		}
+		int length = in.getInt();
+		if (length < HEADER_SIZE || length > in.limit() - start) {
+			throw new IOException("Truncated saved game");
+		}
+		in.limit(start + length);
+		try {
+			game.loadState(in);
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("Corrupt saved game: " + e, e);
+		}
+	}
+
+	/* Reads a saved state from a file, either mapped into memory or copied
+	 * into a buffer. */
+	public static ByteBuffer read(String file, boolean map) throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+		try {
+			if (map) {
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			ByteBuffer in = ByteBuffer.allocate((int)channel.size());
+			while (in.hasRemaining()) {
+				if (channel.read(in) < 0) {
+					break;
+				}
+			}
+			in.flip();
+			return in;
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void map(int size) throws IOException {
+		mapped = mappedChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		mapped.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/* Writes the header and the state, and returns false if the buffer was
+	 * too small. */
+	private static boolean write(GameLogic game, ByteBuffer out) {
+		out.clear();
+		try {
+			out.putInt(MAGIC);
+			out.putInt(VERSION);
+			out.putInt(0);
+			game.saveState(out);
+			out.putInt(8, out.position());
+			return true;
+		} catch (BufferOverflowException e) {
+			return false;
+		}
+	}
+
+	private static ByteBuffer allocate(int capacity) {
+		return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+}
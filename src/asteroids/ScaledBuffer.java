@@ -0,0 +1,42 @@
+package asteroids;
+
+import java.awt.*;
+import java.awt.image.VolatileImage;
+
+/* A ScaledBuffer is an offscreen image that frames are drawn into at the
+ * render scale and then stretched over the screen. */
+
+public class ScaledBuffer {
+
+	private final int width, height;
+	private VolatileImage image;
+	private Object interpolation;
+
+	/* Creates a buffer of the given internal resolution. */
+	public ScaledBuffer(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	/* Returns a Graphics2D to draw the next frame into, compatible with the
+	 * given screen graphics. */
+	public Graphics2D begin(Graphics2D screen) {
+		GraphicsConfiguration gc = screen.getDeviceConfiguration();
+		if (image == null || image.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+			if (image != null) {
+				image.flush();
+			}
+			image = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+			interpolation = (image.getCapabilities().isAccelerated() ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+					: RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		}
+		return image.createGraphics();
+	}
+
+	/* Stretches the frame over the given size of the screen graphics. */
+	public void end(Graphics2D screen, int screenWidth, int screenHeight) {
+		screen.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+		screen.drawImage(image, 0, 0, screenWidth, screenHeight, null);
+	}
+
+}
@@ -0,0 +1,156 @@
+package asteroids;
+
+import java.util.Arrays;
+
+/* The SpatialGrid is a uniform grid over the wrap area, used as the broad
+ * phase for asteroid collisions. */
+
+public class SpatialGrid {
+
+	private final int INITIAL_CELL_CAPACITY = 4;
+
+	private int cellSize;
+	private int columns, rows;
+	// slots of the asteroids in the store's components, by cell
+	private int[][] cells;
+	private int[] counts;
+	private EntityStore<Asteroid> asteroids;
+	private Components c;
+
+	public SpatialGrid(int cellSize, int width, int height) {
+		this.cellSize = cellSize;
+		columns = Math.max(1, (width + cellSize - 1) / cellSize);
+		rows = Math.max(1, (height + cellSize - 1) / cellSize);
+		cells = new int[columns * rows][INITIAL_CELL_CAPACITY];
+		counts = new int[columns * rows];
+	}
+
+	public void clear() {
+		Arrays.fill(counts, 0);
+	}
+
+	/* Inserts every asteroid of the store. Asteroids added to or removed
+	 * from the store afterwards must be inserted or removed one by one. */
+	public void insertAll(EntityStore<Asteroid> asteroids) {
+		this.asteroids = asteroids;
+		c = asteroids.getComponents();
+		for (int i = 0; i < asteroids.size(); i++) {
+			insert(i);
+		}
+	}
+
+	/* Inserts an asteroid that has been added to the store. */
+	public void insert(Asteroid asteroid) {
+		insert(asteroid.indexIn(c));
+	}
+
+	private void insert(int slot) {
+		int firstCol = cellFloor(c.x[slot]);
+		int firstRow = cellFloor(c.y[slot]);
+		int lastCol = Math.min(cellFloor(c.x[slot] + c.width[slot]), firstCol + columns - 1);
+		int lastRow = Math.min(cellFloor(c.y[slot] + c.height[slot]), firstRow + rows - 1);
+		for (int col = firstCol; col <= lastCol; col++) {
+			for (int row = firstRow; row <= lastRow; row++) {
+				add(cellIndex(col, row), slot);
+			}
+		}
+	}
+
+	/* Removes an asteroid from the grid. The asteroid must not have moved since
+	 * it was inserted, and must still be in the store: the store will move its
+	 * last asteroid into the slot, so that asteroid is moved here too. */
+	public void remove(Asteroid asteroid) {
+		int slot = asteroid.indexIn(c);
+		replace(slot, -1);
+		int last = asteroids.size() - 1;
+		if (slot != last) {
+			replace(last, slot);
+		}
+	}
+
+	/* Replaces the slot with another in every cell it is in, or removes it
+	 * if the other is -1. */
+	private void replace(int slot, int other) {
+		int firstCol = cellFloor(c.x[slot]);
+		int firstRow = cellFloor(c.y[slot]);
+		int lastCol = Math.min(cellFloor(c.x[slot] + c.width[slot]), firstCol + columns - 1);
+		int lastRow = Math.min(cellFloor(c.y[slot] + c.height[slot]), firstRow + rows - 1);
+		for (int col = firstCol; col <= lastCol; col++) {
+			for (int row = firstRow; row <= lastRow; row++) {
+				int cell = cellIndex(col, row);
+				int[] entries = cells[cell];
+				for (int i = 0; i < counts[cell]; i++) {
+					if (entries[i] == slot) {
+						if (other != -1) {
+							entries[i] = other;
+						} else {
+							counts[cell]--;
+							entries[i] = entries[counts[cell]];
+						}
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/* Returns the first asteroid in the cell of the given point that contains
+	 * the point, or null if there is none. */
+	public Asteroid find(float x, float y) {
+		int cell = cellIndex(cellFloor(x), cellFloor(y));
+		int[] entries = cells[cell];
+		float[] xs = c.x, ys = c.y;
+		int[] sizes = c.width;
+		for (int i = 0; i < counts[cell]; i++) {
+			int slot = entries[i];
+			if (Asteroid.contains(xs[slot], ys[slot], sizes[slot], x, y)) {
+				return asteroids.get(slot);
+			}
+		}
+		return null;
+	}
+
+	/* Returns the asteroid that the segment from (x0, y0) to (x1, y1) touches
+	 * first, or null if there is none. */
+	public Asteroid findSwept(float x0, float y0, float x1, float y1) {
+		int firstCol = cellFloor(Math.min(x0, x1));
+		int firstRow = cellFloor(Math.min(y0, y1));
+		int lastCol = Math.min(cellFloor(Math.max(x0, x1)), firstCol + columns - 1);
+		int lastRow = Math.min(cellFloor(Math.max(y0, y1)), firstRow + rows - 1);
+		float[] xs = c.x, ys = c.y;
+		int[] sizes = c.width;
+		int first = -1;
+		float firstTime = Float.MAX_VALUE;
+		for (int col = firstCol; col <= lastCol; col++) {
+			for (int row = firstRow; row <= lastRow; row++) {
+				int cell = cellIndex(col, row);
+				int[] entries = cells[cell];
+				for (int i = 0; i < counts[cell]; i++) {
+					int slot = entries[i];
+					float time = Asteroid.sweep(xs[slot], ys[slot], sizes[slot], x0, y0, x1, y1);
+					if (time >= 0.0f && time < firstTime) {
+						firstTime = time;
+						first = slot;
+					}
+				}
+			}
+		}
+		return (first != -1 ? asteroids.get(first) : null);
+	}
+
+	private void add(int cell, int slot) {
+		if (counts[cell] == cells[cell].length) {
+			cells[cell] = Arrays.copyOf(cells[cell], counts[cell] * 2);
+		}
+		cells[cell][counts[cell]++] = slot;
+	}
+
+	private int cellFloor(float coord) {
+		return (int)Math.floor(coord / cellSize);
+	}
+
+	private int cellIndex(int col, int row) {
+		return Math.floorMod(row, rows) * columns + Math.floorMod(col, columns);
+	}
+
+}
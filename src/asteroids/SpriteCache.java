@@ -0,0 +1,147 @@
+package asteroids;
+
+import java.awt.*;
+import java.awt.image.VolatileImage;
+import java.util.Arrays;
+
+/* The SpriteCache keeps a pre-rasterized image of each asteroid's polygon by
+ * slot, so that drawing an asteroid is a single blit. */
+
+public class SpriteCache {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private Color color;
+	private Image[] sprites;
+	private int[] shapeIds;
+	private int[] pads;
+	private int[] lastFrames;
+	private int frame;
+	private int pointStep;
+	private int[] xPoints, yPoints;
+
+	public SpriteCache(Color color) {
+		this.color = color;
+		sprites = new Image[INITIAL_CAPACITY];
+		shapeIds = new int[INITIAL_CAPACITY];
+		pads = new int[INITIAL_CAPACITY];
+		lastFrames = new int[INITIAL_CAPACITY];
+		frame = 0;
+		pointStep = 1;
+		xPoints = new int[0];
+		yPoints = new int[0];
+	}
+
+	/* Draws the polygon described by the given x, y pairs of points, relative
+	 * to the centre of a size x size box at (x, y), using the cached sprite if
+	 * it is still valid for the given slot and shape. */
+	public void draw(Graphics2D g, int slot, int shapeId, float[] points, int numPoints, int size,
+			float x, float y) {
+		if (slot >= sprites.length) {
+			grow(slot + 1);
+		}
+		GraphicsConfiguration gc = g.getDeviceConfiguration();
+		Image sprite = sprites[slot];
+		if (sprite == null || shapeIds[slot] != shapeId) {
+			evict(slot);
+			sprite = createSprite(gc, slot, size);
+			rasterize(sprite, slot, points, numPoints, size);
+			shapeIds[slot] = shapeId;
+		} else if (sprite instanceof VolatileImage) {
+			int status = ((VolatileImage)sprite).validate(gc);
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+				evict(slot);
+				sprite = createSprite(gc, slot, size);
+				rasterize(sprite, slot, points, numPoints, size);
+				shapeIds[slot] = shapeId;
+			} else if (status == VolatileImage.IMAGE_RESTORED) {
+				rasterize(sprite, slot, points, numPoints, size);
+			}
+		}
+		lastFrames[slot] = frame;
+		g.drawImage(sprite, (int)x - pads[slot], (int)y - pads[slot], null);
+	}
+
+	/* Sets the polygons to be drawn with only every step-th point, which
+	 * redraws every sprite the next time it is drawn if it changes. */
+	public void setPointStep(int step) {
+		if (step != pointStep) {
+			pointStep = step;
+			clear();
+		}
+	}
+
+	/* Releases every sprite that was not drawn since the last sweep. */
+	public void sweep() {
+		for (int i = 0; i < sprites.length; i++) {
+			if (sprites[i] != null && lastFrames[i] != frame) {
+				evict(i);
+			}
+		}
+		frame++;
+	}
+
+	/* Releases the sprite of the given slot. */
+	public void evict(int slot) {
+		if (slot < sprites.length && sprites[slot] != null) {
+			sprites[slot].flush();
+			sprites[slot] = null;
+		}
+	}
+
+	public void clear() {
+		for (int i = 0; i < sprites.length; i++) {
+			evict(i);
+		}
+	}
+
+	private Image createSprite(GraphicsConfiguration gc, int slot, int size) {
+		// the polygon points can stick out of the box by up to size / 16
+		int pad = size / 16 + 2;
+		int dim = size + pad * 2;
+		pads[slot] = pad;
+		Image sprite = null;
+		if (gc.getDevice().getType() != GraphicsDevice.TYPE_IMAGE_BUFFER) {
+			try {
+				sprite = gc.createCompatibleVolatileImage(dim, dim, Transparency.TRANSLUCENT);
+			} catch (Exception e) {
+				sprite = null;
+			}
+		}
+		if (sprite == null) {
+			sprite = gc.createCompatibleImage(dim, dim, Transparency.TRANSLUCENT);
+		}
+		sprites[slot] = sprite;
+		return sprite;
+	}
+
+	private void rasterize(Image sprite, int slot, float[] points, int numPoints, int size) {
+		if (xPoints.length < numPoints) {
+			xPoints = new int[numPoints];
+			yPoints = new int[numPoints];
+		}
+		int pad = pads[slot];
+		int count = 0;
+		for (int i = 0; i < numPoints; i += pointStep, count++) {
+			xPoints[count] = (int)(pad + points[i * 2] + size / 2);
+			yPoints[count] = (int)(pad + points[i * 2 + 1] + size / 2);
+		}
+		Graphics2D sg = (Graphics2D)sprite.getGraphics();
+		sg.setComposite(AlphaComposite.Clear);
+		sg.fillRect(0, 0, sprite.getWidth(null), sprite.getHeight(null));
+		sg.setComposite(AlphaComposite.SrcOver);
+		sg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		sg.setColor(color);
+		sg.fillPolygon(xPoints, yPoints, count);
+		sg.dispose();
+	}
+
+	private void grow(int minCapacity) {
+		int capacity = Math.max(minCapacity, sprites.length * 2);
+		sprites = Arrays.copyOf(sprites, capacity);
+		shapeIds = Arrays.copyOf(shapeIds, capacity);
+		pads = Arrays.copyOf(pads, capacity);
+		lastFrames = Arrays.copyOf(lastFrames, capacity);
+	}
+
+}
@@ -0,0 +1,140 @@
+package asteroids;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Random;
+
+/* The Starfield is the scrolling background, drawn as a few pre-rendered
+ * layers that each move by a single offset. */
+
+public class Starfield {
+
+	public static final int LAYERS = 3;
+	public static final Color COLOR = new Color(54, 27, 68);
+
+	private static final float STARS_PER_PIXEL = 128.0f / (1920 * 1080);
+	private static final float MAX_X_SPEED = 50.0f;
+	private static final float MAX_Y_SPEED = 25.0f;
+
+	private int width, height;
+	private long seed;
+	private BufferedImage[] layers;
+	private int[][] layerPixels;
+	private boolean[][] starRows;
+
+	/* Creates the layers for a screen of the given size, placing the stars
+	 * with a generator seeded by the given seed. */
+	public Starfield(int width, int height, Color background, long seed) {
+		this.width = width;
+		this.height = height;
+		this.seed = seed;
+		Random random = new Random(seed);
+		int stars = Math.round(STARS_PER_PIXEL * width * height / LAYERS);
+		layers = new BufferedImage[LAYERS];
+		starRows = new boolean[LAYERS][height];
+		for (int i = 0; i < LAYERS; i++) {
+			BufferedImage layer;
+			Graphics2D lg;
+			if (i == 0) {
+				layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+				lg = layer.createGraphics();
+				lg.setColor(background);
+				lg.fillRect(0, 0, width, height);
+			} else {
+				layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+				lg = layer.createGraphics();
+			}
+			lg.setColor(COLOR);
+			int size = i + 1;
+			for (int j = 0; j < stars; j++) {
+				int x = (int)(random.nextDouble() * width);
+				int y = (int)(random.nextDouble() * height);
+				// stars on an edge are drawn again on the opposite edge
+				lg.fillRect(x, y, size, size);
+				lg.fillRect(x - width, y, size, size);
+				lg.fillRect(x, y - height, size, size);
+				lg.fillRect(x - width, y - height, size, size);
+				for (int row = y; row < y + size; row++) {
+					starRows[i][row % height] = true;
+				}
+			}
+			lg.dispose();
+			layers[i] = layer;
+		}
+	}
+
+	/* Returns how fast the given layer scrolls to the right, in pixels per
+	 * second. */
+	public static float getXSpeed(int layer) {
+		return (layer + 0.5f) / LAYERS * MAX_X_SPEED;
+	}
+
+	/* Returns how fast the given layer scrolls down, in pixels per second. */
+	public static float getYSpeed(int layer) {
+		return (layer + 0.5f) / LAYERS * MAX_Y_SPEED;
+	}
+
+	/* Copies the opaque pixels of a run of a transparent layer. */
+	private static void overlay(int[] src, int srcPos, int[] dst, int dstPos, int length) {
+		for (int i = 0; i < length; i++) {
+			int p = src[srcPos + i];
+			if (p != 0) {
+				dst[dstPos + i] = p;
+			}
+		}
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/* Draws the given number of layers, from the bottom one, over the whole of
+	 * the given pixels of an opaque image the size of the screen, each
+	 * shifted by its offset. */
+	public void draw(int[] pixels, float[] xOffsets, float[] yOffsets, int count) {
+		if (layerPixels == null) {
+			// accessing the pixels stops the images from being accelerated, so
+			// it is only done once they are drawn this way
+			layerPixels = new int[LAYERS][];
+			for (int i = 0; i < LAYERS; i++) {
+				layerPixels[i] = ((DataBufferInt)layers[i].getRaster().getDataBuffer()).getData();
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			int x = Math.floorMod((int)xOffsets[i], width);
+			int y = Math.floorMod((int)yOffsets[i], height);
+			int[] src = layerPixels[i];
+			boolean[] rows = starRows[i];
+			for (int row = 0; row < height; row++) {
+				// the screen row shows layer row (row - y), split where the
+				// layer wraps around horizontally
+				int layerRow = Math.floorMod(row - y, height);
+				int srcRow = layerRow * width;
+				int dstRow = row * width;
+				if (i == 0) {
+					System.arraycopy(src, srcRow + width - x, pixels, dstRow, x);
+					System.arraycopy(src, srcRow, pixels, dstRow + x, width - x);
+				} else if (rows[layerRow]) {
+					overlay(src, srcRow + width - x, pixels, dstRow, x);
+					overlay(src, srcRow, pixels, dstRow + x, width - x);
+				}
+			}
+		}
+	}
+
+	/* Draws the given number of layers, from the bottom one, over the whole
+	 * screen, each shifted by its offset. */
+	public void draw(Graphics2D g, float[] xOffsets, float[] yOffsets, int count) {
+		for (int i = 0; i < count; i++) {
+			int x = Math.floorMod((int)xOffsets[i], width);
+			int y = Math.floorMod((int)yOffsets[i], height);
+			BufferedImage layer = layers[i];
+			g.drawImage(layer, x - width, y - height, null);
+			g.drawImage(layer, x, y - height, null);
+			g.drawImage(layer, x - width, y, null);
+			g.drawImage(layer, x, y, null);
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+package asteroids;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/* A Tournament plays many seeded headless games with bots on a pool of threads
+ * and prints their results. */
+
+public class Tournament {
+
+	private final int games;
+	private final int maxTicks;
+	private final int width, height;
+	private final Supplier<Bot> bots;
+	private int tickRate;
+	private long seed;
+	private int threads;
+	private int[] scores, levels, ticks;
+
+	public Tournament(int games, int maxTicks, int width, int height, Supplier<Bot> bots) {
+		this.games = games;
+		this.maxTicks = maxTicks;
+		this.width = width;
+		this.height = height;
+		this.bots = bots;
+		tickRate = GameConfig.DEFAULT_TICK_RATE;
+		seed = 0;
+		threads = Runtime.getRuntime().availableProcessors();
+		scores = new int[games];
+		levels = new int[games];
+		ticks = new int[games];
+	}
+
+	public void setTickRate(int rate) {
+		tickRate = rate;
+	}
+
+	/* Sets the seed of the first game. */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	/* Plays all the games and prints the results. */
+	public void run() {
+		AtomicInteger count = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "tournament-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		long startTime = System.nanoTime();
+		List<Future<?>> results = new ArrayList<>(games);
+		for (int i = 0; i < games; i++) {
+			int game = i;
+			results.add(executor.submit(() -> play(game)));
+		}
+		try {
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+		double seconds = (System.nanoTime() - startTime) / 1000000000.0;
+		printResults(seconds);
+	}
+
+	private void play(int game) {
+		GameLogic logic = new GameLogic(width, height);
+		logic.setTickRate(tickRate);
+		logic.setParallelThreshold(0);
+		logic.setSeed(seed + game);
+		logic.setBot(bots.get());
+		ticks[game] = logic.play(maxTicks);
+		scores[game] = logic.getScore();
+		levels[game] = logic.getLevel();
+	}
+
+	private void printResults(double seconds) {
+		System.out.println("game,seed,score,level,ticks");
+		long totalScore = 0, totalLevel = 0, totalTicks = 0;
+		for (int i = 0; i < games; i++) {
+			System.out.println(i + "," + (seed + i) + "," + scores[i] + "," + levels[i] + "," + ticks[i]);
+			totalScore += scores[i];
+			totalLevel += levels[i];
+			totalTicks += ticks[i];
+		}
+		System.out.printf(Locale.ROOT, "Played %d games on %d threads in %.2f s: %.1f games/sec, %.0f ticks/sec%n",
+				games, threads, seconds, games / seconds, totalTicks / seconds);
+		System.out.printf(Locale.ROOT, "Average score %.1f, level %.2f, %.0f ticks survived (%.1f s)%n",
+				(double)totalScore / games, (double)totalLevel / games, (double)totalTicks / games,
+				(double)totalTicks / games / tickRate);
+	}
+
+}
@@ -0,0 +1,54 @@
+package asteroids;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* TripleBuffer hands the latest of a stream of objects from one writer thread
+ * to one reader thread, without locks or waiting. */
+
+public class TripleBuffer<T> {
+
+	private static final int INDEX_MASK = 3;
+	private static final int FRESH = 4;
+
+	private final Object[] buffers;
+	private final AtomicInteger middle;
+	private int back;
+	private int front;
+
+	public TripleBuffer(T first, T second, T third) {
+		buffers = new Object[] {first, second, third};
+		front = 0;
+		middle = new AtomicInteger(1);
+		back = 2;
+	}
+
+	/* Returns the buffer the writer fills next. */
+	@SuppressWarnings("unchecked")
+	public T getBack() {
+		return (T)buffers[back];
+	}
+
+	/* Makes the back buffer available to the reader and takes the middle
+	 * buffer as the new back buffer. Called by the writer. */
+	public void publish() {
+		back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+	}
+
+	/* Takes the latest published buffer as the front buffer if there is one
+	 * the reader has not seen yet, and returns whether there was. Called by
+	 * the reader. */
+	public boolean update() {
+		if ((middle.get() & FRESH) == 0) {
+			return false;
+		}
+		front = middle.getAndSet(front) & INDEX_MASK;
+		return true;
+	}
+
+	/* Returns the buffer the reader got from the last update(). */
+	@SuppressWarnings("unchecked")
+	public T getFront() {
+		return (T)buffers[front];
+	}
+
+}
@@ -0,0 +1,399 @@
+package asteroids;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/* A WorldState is the part of a game that is sent to network clients. Only the
+ * asteroids are written as a delta against an older state the client has;
+ * ships and bullets are always written in full. */
+
+public class WorldState {
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int MAX_POINTS = 32;
+	// asteroid ids are slots, which stay below the number of asteroids
+	private static final int MAX_ID = 0xffff;
+	// kinds of asteroid records
+	private static final int ASTEROID_NEW = 0;
+	private static final int ASTEROID_NUDGED = 1;
+	private static final int ASTEROID_MOVED = 2;
+
+	int sequence;
+	// HUD
+	int score, lives, level;
+	boolean gameOver;
+	// ships, with the direction in 1/65536 turns and the shield in tenths of
+	// seconds
+	int shipCount;
+	short[] shipX, shipY;
+	char[] shipDirection;
+	byte[] shipShield;
+	// bullets
+	int bulletCount;
+	short[] bulletX, bulletY;
+	// asteroids, with their outline relative to their centre
+	int asteroidCount;
+	int[] asteroidId, asteroidShape;
+	short[] asteroidX, asteroidY;
+	short[] asteroidSize;
+	byte[] asteroidNumPoints;
+	byte[][] asteroidPoints;
+	// asteroid index by id, or -1
+	private int[] index;
+	private float[] outline;
+
+	public WorldState() {
+		shipX = new short[0];
+		shipY = new short[0];
+		shipDirection = new char[0];
+		shipShield = new byte[0];
+		bulletX = new short[INITIAL_CAPACITY];
+		bulletY = new short[INITIAL_CAPACITY];
+		asteroidId = new int[0];
+		asteroidShape = new int[0];
+		asteroidX = new short[0];
+		asteroidY = new short[0];
+		asteroidSize = new short[0];
+		asteroidNumPoints = new byte[0];
+		asteroidPoints = new byte[0][];
+		growAsteroids(INITIAL_CAPACITY);
+		index = new int[0];
+		outline = new float[MAX_POINTS * 2];
+	}
+
+	/* Copies the current state of the given game. */
+	public void capture(GameLogic game, int sequence) {
+		this.sequence = sequence;
+		score = game.getScore();
+		lives = game.getLives();
+		level = game.getLevel();
+		gameOver = game.isGameOver();
+		EntityList<Player> ships = game.getShips();
+		growShips(ships.size());
+		shipCount = ships.size();
+		for (int i = 0; i < shipCount; i++) {
+			Player ship = ships.get(i);
+			shipX[i] = (short)Math.round(ship.getX());
+			shipY[i] = (short)Math.round(ship.getY());
+			shipDirection[i] = (char)Math.round(ship.getDirection() * 65536.0f / 360.0f);
+			shipShield[i] = (byte)Math.ceil(ship.getShieldTime() * 10.0);
+		}
+		EntityList<Bullet> bullets = game.getBullets();
+		growBullets(bullets.size());
+		bulletCount = bullets.size();
+		for (int i = 0; i < bulletCount; i++) {
+			Bullet bullet = bullets.get(i);
+			bulletX[i] = (short)Math.round(bullet.getX());
+			bulletY[i] = (short)Math.round(bullet.getY());
+		}
+		EntityList<Asteroid> asteroids = game.getAsteroids();
+		asteroidCount = 0;
+		growAsteroids(asteroids.size());
+		for (Asteroid asteroid : asteroids) {
+			int i = asteroidCount++;
+			asteroidId[i] = asteroid.getSlot();
+			asteroidShape[i] = asteroid.getShapeId();
+			asteroidX[i] = (short)Math.round(asteroid.getX());
+			asteroidY[i] = (short)Math.round(asteroid.getY());
+			asteroidSize[i] = (short)asteroid.getSize();
+			float[][] points = asteroid.getPoints();
+			int numPoints = asteroid.getNumPoints();
+			asteroidNumPoints[i] = (byte)numPoints;
+			byte[] flat = asteroidPoints[i];
+			for (int j = 0; j < numPoints; j++) {
+				flat[j * 2] = (byte)Math.round(points[j][0]);
+				flat[j * 2 + 1] = (byte)Math.round(points[j][1]);
+			}
+		}
+		buildIndex();
+	}
+
+	/* Writes this state as a delta against the given older state, or in full
+	 * if it is null. */
+	public void write(ByteBuffer out, WorldState base) {
+		out.putInt(sequence);
+		out.putInt(base != null ? base.sequence : -1);
+		out.putInt(score);
+		out.putShort((short)level);
+		out.put((byte)lives);
+		out.put((byte)(gameOver ? 1 : 0));
+		out.put((byte)shipCount);
+		for (int i = 0; i < shipCount; i++) {
+			out.putShort(shipX[i]);
+			out.putShort(shipY[i]);
+			out.putChar(shipDirection[i]);
+			out.put(shipShield[i]);
+		}
+		out.putShort((short)bulletCount);
+		for (int i = 0; i < bulletCount; i++) {
+			out.putShort(bulletX[i]);
+			out.putShort(bulletY[i]);
+		}
+		// the asteroids that are gone
+		int removed = 0;
+		if (base != null) {
+			for (int i = 0; i < base.asteroidCount; i++) {
+				if (indexOf(base.asteroidId[i]) == -1) {
+					removed++;
+				}
+			}
+		}
+		putVarint(out, removed);
+		for (int i = 0; removed > 0 && i < base.asteroidCount; i++) {
+			if (indexOf(base.asteroidId[i]) == -1) {
+				putVarint(out, base.asteroidId[i]);
+			}
+		}
+		// the asteroids that are new or changed, with their count in front
+		int countPosition = out.position();
+		out.putShort((short)0);
+		int changed = 0;
+		for (int i = 0; i < asteroidCount; i++) {
+			int b = (base != null ? base.indexOf(asteroidId[i]) : -1);
+			if (b == -1 || base.asteroidShape[b] != asteroidShape[i]) {
+				putVarint(out, asteroidId[i]);
+				out.put((byte)ASTEROID_NEW);
+				putVarint(out, asteroidShape[i]);
+				out.putShort(asteroidX[i]);
+				out.putShort(asteroidY[i]);
+				out.putShort(asteroidSize[i]);
+				int numPoints = asteroidNumPoints[i];
+				out.put((byte)numPoints);
+				out.put(asteroidPoints[i], 0, numPoints * 2);
+			} else {
+				int dx = asteroidX[i] - base.asteroidX[b];
+				int dy = asteroidY[i] - base.asteroidY[b];
+				if (dx == 0 && dy == 0) {
+					continue;
+				}
+				putVarint(out, asteroidId[i]);
+				if (dx >= Byte.MIN_VALUE && dx <= Byte.MAX_VALUE && dy >= Byte.MIN_VALUE && dy <= Byte.MAX_VALUE) {
+					out.put((byte)ASTEROID_NUDGED);
+					out.put((byte)dx);
+					out.put((byte)dy);
+				} else {
+					out.put((byte)ASTEROID_MOVED);
+					out.putShort(asteroidX[i]);
+					out.putShort(asteroidY[i]);
+				}
+			}
+			changed++;
+		}
+		out.putShort(countPosition, (short)changed);
+	}
+
+	/* Returns the sequence of the state that the delta in the buffer was
+	 * written against, or -1 if it was written in full, without consuming
+	 * anything. */
+	public static int peekBase(ByteBuffer in) {
+		return in.getInt(in.position() + 4);
+	}
+
+	/* Reads a state written by write(), applying it to the given older state,
+	 * which must be the one it was written against. Throws an IOException, or
+	 * a BufferUnderflowException if the state is cut short, when it is
+	 * malformed. */
+	public void read(ByteBuffer in, WorldState base) throws IOException {
+		sequence = in.getInt();
+		in.getInt();
+		score = in.getInt();
+		level = in.getShort();
+		lives = in.get();
+		gameOver = (in.get() != 0);
+		shipCount = in.get() & 0xff;
+		growShips(shipCount);
+		for (int i = 0; i < shipCount; i++) {
+			shipX[i] = in.getShort();
+			shipY[i] = in.getShort();
+			shipDirection[i] = in.getChar();
+			shipShield[i] = in.get();
+		}
+		bulletCount = in.getShort() & 0xffff;
+		growBullets(bulletCount);
+		for (int i = 0; i < bulletCount; i++) {
+			bulletX[i] = in.getShort();
+			bulletY[i] = in.getShort();
+		}
+		// start from the older asteroids without the removed ones
+		asteroidCount = 0;
+		if (base != null) {
+			growAsteroids(base.asteroidCount);
+			for (int i = 0; i < base.asteroidCount; i++) {
+				copyAsteroid(base, i, asteroidCount++);
+			}
+		}
+		buildIndex();
+		int removed = getVarint(in);
+		for (int i = 0; i < removed; i++) {
+			int a = indexOf(getVarint(in));
+			if (a != -1) {
+				// marked here and left out below
+				asteroidId[a] = -1;
+			}
+		}
+		if (removed > 0) {
+			int count = 0;
+			for (int i = 0; i < asteroidCount; i++) {
+				if (asteroidId[i] != -1) {
+					copyAsteroid(this, i, count++);
+				}
+			}
+			asteroidCount = count;
+			buildIndex();
+		}
+		int changed = in.getShort() & 0xffff;
+		for (int i = 0; i < changed; i++) {
+			int id = getVarint(in);
+			int kind = in.get();
+			if (id < 0 || id > MAX_ID) {
+				throw new IOException("Bad asteroid id " + id);
+			}
+			int a = indexOf(id);
+			if (kind != ASTEROID_NEW && (a == -1 || (kind != ASTEROID_NUDGED && kind != ASTEROID_MOVED))) {
+				throw new IOException("Bad record of kind " + kind + " for asteroid " + id);
+			}
+			if (kind == ASTEROID_NEW) {
+				if (a == -1) {
+					growAsteroids(asteroidCount + 1);
+					a = asteroidCount++;
+					asteroidId[a] = id;
+					setIndex(id, a);
+				}
+				asteroidShape[a] = getVarint(in);
+				asteroidX[a] = in.getShort();
+				asteroidY[a] = in.getShort();
+				asteroidSize[a] = in.getShort();
+				int numPoints = in.get();
+				if (numPoints < 0 || numPoints > MAX_POINTS) {
+					throw new IOException("Bad asteroid outline of " + numPoints + " points");
+				}
+				asteroidNumPoints[a] = (byte)numPoints;
+				in.get(asteroidPoints[a], 0, numPoints * 2);
+			} else if (kind == ASTEROID_NUDGED) {
+				asteroidX[a] += in.get();
+				asteroidY[a] += in.get();
+			} else {
+				asteroidX[a] = in.getShort();
+				asteroidY[a] = in.getShort();
+			}
+		}
+	}
+
+	/* Fills in the given frame snapshot from this state, with the ship at the
+	 * given index as the player, or none if it is -1. The given player is
+	 * used to work out the hull points. */
+	public void copyTo(FrameSnapshot s, int own, Player scratch) {
+		s.clear();
+		s.setHud(score, lives, level, gameOver);
+		for (int i = 0; i < shipCount; i++) {
+			scratch.setPosition(shipX[i], shipY[i]);
+			scratch.setDirection(shipDirection[i] * 360.0f / 65536.0f);
+			scratch.setShieldTime(shipShield[i] / 10.0);
+			if (i == own) {
+				s.setPlayer(scratch);
+			} else {
+				s.addShip(scratch);
+			}
+		}
+		for (int i = 0; i < bulletCount; i++) {
+			s.addBullet(bulletX[i], bulletY[i]);
+		}
+		for (int i = 0; i < asteroidCount; i++) {
+			int numPoints = asteroidNumPoints[i];
+			byte[] points = asteroidPoints[i];
+			for (int j = 0; j < numPoints * 2; j++) {
+				outline[j] = points[j];
+			}
+			s.addAsteroid(asteroidId[i], asteroidShape[i], outline, numPoints, asteroidSize[i],
+					asteroidX[i], asteroidY[i]);
+		}
+	}
+
+	private void copyAsteroid(WorldState from, int i, int to) {
+		asteroidId[to] = from.asteroidId[i];
+		asteroidShape[to] = from.asteroidShape[i];
+		asteroidX[to] = from.asteroidX[i];
+		asteroidY[to] = from.asteroidY[i];
+		asteroidSize[to] = from.asteroidSize[i];
+		asteroidNumPoints[to] = from.asteroidNumPoints[i];
+		if (from != this || i != to) {
+			System.arraycopy(from.asteroidPoints[i], 0, asteroidPoints[to], 0, from.asteroidNumPoints[i] * 2);
+		}
+	}
+
+	private int indexOf(int id) {
+		return (id >= 0 && id < index.length ? index[id] : -1);
+	}
+
+	private void setIndex(int id, int i) {
+		if (id >= index.length) {
+			int old = index.length;
+			index = Arrays.copyOf(index, Math.max(id + 1, old * 2));
+			Arrays.fill(index, old, index.length, -1);
+		}
+		index[id] = i;
+	}
+
+	private void buildIndex() {
+		Arrays.fill(index, -1);
+		for (int i = 0; i < asteroidCount; i++) {
+			setIndex(asteroidId[i], i);
+		}
+	}
+
+	private void growShips(int count) {
+		if (count > shipX.length) {
+			shipX = Arrays.copyOf(shipX, count);
+			shipY = Arrays.copyOf(shipY, count);
+			shipDirection = Arrays.copyOf(shipDirection, count);
+			shipShield = Arrays.copyOf(shipShield, count);
+		}
+	}
+
+	private void growBullets(int count) {
+		if (count > bulletX.length) {
+			int capacity = Math.max(count, bulletX.length * 2);
+			bulletX = Arrays.copyOf(bulletX, capacity);
+			bulletY = Arrays.copyOf(bulletY, capacity);
+		}
+	}
+
+	private void growAsteroids(int count) {
+		if (count > asteroidId.length) {
+			int old = asteroidId.length;
+			int capacity = Math.max(count, old * 2);
+			asteroidId = Arrays.copyOf(asteroidId, capacity);
+			asteroidShape = Arrays.copyOf(asteroidShape, capacity);
+			asteroidX = Arrays.copyOf(asteroidX, capacity);
+			asteroidY = Arrays.copyOf(asteroidY, capacity);
+			asteroidSize = Arrays.copyOf(asteroidSize, capacity);
+			asteroidNumPoints = Arrays.copyOf(asteroidNumPoints, capacity);
+			asteroidPoints = Arrays.copyOf(asteroidPoints, capacity);
+			for (int i = old; i < capacity; i++) {
+				asteroidPoints[i] = new byte[MAX_POINTS * 2];
+			}
+		}
+	}
+
+	private static void putVarint(ByteBuffer out, int value) {
+		while ((value & ~0x7f) != 0) {
+			out.put((byte)((value & 0x7f) | 0x80));
+			value >>>= 7;
+		}
+		out.put((byte)value);
+	}
+
+	private static int getVarint(ByteBuffer in) {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = in.get();
+			value |= (b & 0x7f) << shift;
+			shift += 7;
+		} while (b < 0);
+		return value;
+	}
+
+}
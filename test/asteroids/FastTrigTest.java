@@ -0,0 +1,35 @@
+package asteroids;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/* Checks the error of the FastTrig tables against Math.sin and Math.cos. */
+
+public class FastTrigTest {
+
+	// a step that does not line up with the table, in degrees
+	private static final float STEP = 0.0007f;
+
+	@Test
+	public void withinBoundFromMinus360To720() {
+		assertMaxError(-360.0f, 720.0f, 2e-6);
+	}
+
+	@Test
+	public void withinLooserBoundUpTo3600() {
+		assertMaxError(-3600.0f, -360.0f, 1e-5);
+		assertMaxError(720.0f, 3600.0f, 1e-5);
+	}
+
+	private static void assertMaxError(float from, float to, double bound) {
+		int steps = (int)((to - from) / STEP);
+		for (int i = 0; i <= steps; i++) {
+			float degrees = from + (to - from) * i / steps;
+			double radians = Math.toRadians(degrees);
+			assertEquals("sin " + degrees, Math.sin(radians), FastTrig.sin(degrees), bound);
+			assertEquals("cos " + degrees, Math.cos(radians), FastTrig.cos(degrees), bound);
+		}
+	}
+
+}
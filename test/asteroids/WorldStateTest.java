@@ -0,0 +1,150 @@
+package asteroids;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/* Round trips of WorldState through the codec the GameServer and GameClient
+ * use, in full and as deltas. */
+
+public class WorldStateTest {
+
+	private GameLogic game;
+	private ByteBuffer buffer;
+
+	@Before
+	public void setUp() {
+		game = new GameLogic(640, 480);
+		game.setSeed(1);
+		game.setBot(new AimBot());
+		game.newGame();
+		buffer = ByteBuffer.allocate(GameServer.MAX_PACKET);
+	}
+
+	@Test
+	public void fullSnapshot() throws IOException {
+		WorldState sent = capture(1);
+		WorldState received = roundTrip(sent, null, null);
+		assertSameState(sent, received);
+	}
+
+	@Test
+	public void deltaAgainstAckedBase() throws IOException {
+		WorldState sentBase = capture(1);
+		WorldState receivedBase = roundTrip(sentBase, null, null);
+		// long enough for some asteroids to be shot and split, not all
+		tick(120);
+		WorldState sent = capture(2);
+		roundTrip(sent, null, null);
+		int fullSize = buffer.limit();
+		WorldState received = roundTrip(sent, sentBase, receivedBase);
+		assertEquals(1, WorldState.peekBase(buffer));
+		assertTrue(buffer.limit() < fullSize);
+		assertSameState(sent, received);
+	}
+
+	@Test
+	public void baseOlderThanHistory() throws IOException {
+		WorldState[] history = new WorldState[GameServer.HISTORY];
+		for (int i = 0; i < GameServer.HISTORY; i++) {
+			history[i] = new WorldState();
+		}
+		int sequence = 1;
+		history[sequence].capture(game, sequence);
+		for (int i = 0; i < GameServer.HISTORY; i++) {
+			tick(10);
+			sequence++;
+			history[sequence % GameServer.HISTORY].capture(game, sequence);
+		}
+		assertSame(history[(sequence - 1) % GameServer.HISTORY],
+				GameServer.findBase(history, sequence, sequence - 1));
+		// the first state has been overwritten, so it is sent in full
+		WorldState base = GameServer.findBase(history, sequence, 1);
+		assertNull(base);
+		WorldState sent = history[sequence % GameServer.HISTORY];
+		WorldState received = roundTrip(sent, base, null);
+		assertEquals(-1, WorldState.peekBase(buffer));
+		assertSameState(sent, received);
+	}
+
+	@Test(expected = IOException.class)
+	public void deltaAgainstMissingAsteroid() throws IOException {
+		WorldState sentBase = capture(1);
+		tick(10);
+		WorldState sent = capture(2);
+		buffer.clear();
+		sent.write(buffer, sentBase);
+		buffer.flip();
+		// the asteroids it moves are not in an empty base
+		new WorldState().read(buffer, new WorldState());
+	}
+
+	private void tick(int ticks) {
+		for (int i = 0; i < ticks; i++) {
+			game.update();
+		}
+	}
+
+	private WorldState capture(int sequence) {
+		WorldState state = new WorldState();
+		state.capture(game, sequence);
+		return state;
+	}
+
+	/* Writes the given state against the sent base, and reads it back against
+	 * the received one, leaving what was written in the buffer. */
+	private WorldState roundTrip(WorldState state, WorldState sentBase, WorldState receivedBase)
+			throws IOException {
+		buffer.clear();
+		state.write(buffer, sentBase);
+		buffer.flip();
+		WorldState received = new WorldState();
+		received.read(buffer.duplicate(), receivedBase);
+		return received;
+	}
+
+	private static void assertSameState(WorldState expected, WorldState actual) {
+		assertEquals(expected.sequence, actual.sequence);
+		assertEquals(expected.score, actual.score);
+		assertEquals(expected.lives, actual.lives);
+		assertEquals(expected.level, actual.level);
+		assertEquals(expected.gameOver, actual.gameOver);
+		assertEquals(expected.shipCount, actual.shipCount);
+		for (int i = 0; i < expected.shipCount; i++) {
+			assertEquals(expected.shipX[i], actual.shipX[i]);
+			assertEquals(expected.shipY[i], actual.shipY[i]);
+			assertEquals(expected.shipDirection[i], actual.shipDirection[i]);
+			assertEquals(expected.shipShield[i], actual.shipShield[i]);
+		}
+		assertEquals(expected.bulletCount, actual.bulletCount);
+		for (int i = 0; i < expected.bulletCount; i++) {
+			assertEquals(expected.bulletX[i], actual.bulletX[i]);
+			assertEquals(expected.bulletY[i], actual.bulletY[i]);
+		}
+		// a delta keeps the asteroids of its base in order, so match them by id
+		assertEquals(expected.asteroidCount, actual.asteroidCount);
+		Map<Integer, Integer> index = new HashMap<>();
+		for (int i = 0; i < actual.asteroidCount; i++) {
+			index.put(actual.asteroidId[i], i);
+		}
+		for (int i = 0; i < expected.asteroidCount; i++) {
+			Integer a = index.get(expected.asteroidId[i]);
+			assertNotNull("asteroid " + expected.asteroidId[i], a);
+			assertEquals(expected.asteroidShape[i], actual.asteroidShape[a]);
+			assertEquals(expected.asteroidX[i], actual.asteroidX[a]);
+			assertEquals(expected.asteroidY[i], actual.asteroidY[a]);
+			assertEquals(expected.asteroidSize[i], actual.asteroidSize[a]);
+			assertEquals(expected.asteroidNumPoints[i], actual.asteroidNumPoints[a]);
+			for (int j = 0; j < expected.asteroidNumPoints[i] * 2; j++) {
+				assertEquals(expected.asteroidPoints[i][j], actual.asteroidPoints[a][j]);
+			}
+		}
+	}
+
+}